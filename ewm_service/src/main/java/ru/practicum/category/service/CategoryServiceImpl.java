@@ -2,11 +2,13 @@ package ru.practicum.category.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import ru.practicum.category.dao.CategoryRepository;
 import ru.practicum.category.model.Category;
+import ru.practicum.category.model.CategoryChangedEvent;
 import ru.practicum.category.model.dto.CategoryDto;
 import ru.practicum.event.dao.EventRepository;
 import ru.practicum.exception.model.ConflictRequestException;
@@ -24,6 +26,7 @@ import java.util.stream.Collectors;
 public class CategoryServiceImpl implements CategoryService {
     private final CategoryRepository categoryRepository;
     private final EventRepository eventRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
@@ -49,7 +52,9 @@ public class CategoryServiceImpl implements CategoryService {
         }
 
         log.info("Sending to repository request to update category with id {} to: {}.", categoryId, categoryDto.getName());
+        categoryDto.setId(categoryId);
         Category category = categoryRepository.save(Mapper.convertCategoryFromDto(categoryDto));
+        eventPublisher.publishEvent(new CategoryChangedEvent(categoryId));
         return Mapper.convertCategoryToDto(category);
     }
 
@@ -73,7 +78,7 @@ public class CategoryServiceImpl implements CategoryService {
     @Override
     @Transactional
     public void deleteCategory(long categoryId) {
-        if (!eventRepository.findAllByCategoryId(categoryId).isEmpty()) {
+        if (eventRepository.existsByCategoryId(categoryId)) {
             throw new ConflictRequestException("In repository presents events connected to this category.");
         }
         log.info("Sending to repository request to delete category with id {}.", categoryId);
@@ -51,9 +51,11 @@ public class CommentController {
 
     @GetMapping("/events/{eventId}/comments")
     @ResponseStatus(code = HttpStatus.OK)
-    public List<CommentDto> publicGetEventComments(@PathVariable long eventId) {
-        log.info("Received request to get event {} comments.", eventId);
-        return commentService.publicGetEventComments(eventId);
+    public List<CommentDto> publicGetEventComments(@PathVariable long eventId,
+                                                   @RequestParam(defaultValue = "0") long after,
+                                                   @RequestParam(defaultValue = "100") int limit) {
+        log.info("Received request to get {} event {} comments after comment {}.", limit, eventId, after);
+        return commentService.publicGetEventComments(eventId, after, limit);
     }
 
     @GetMapping("/comments/{commentId}")
@@ -1,5 +1,6 @@
 package ru.practicum.comment.dao;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import ru.practicum.comment.model.CommentReply;
 
@@ -11,5 +12,6 @@ public interface CommentReplyRepository extends JpaRepository<CommentReply, Long
 
     List<CommentReply> findAllByCommentIdOrderByIdAsc(long commentId);
 
+    @EntityGraph(attributePaths = {"commentator"})
     List<CommentReply> findAllByCommentIdInOrderByIdAsc(List<Long> commentsIds);
 }
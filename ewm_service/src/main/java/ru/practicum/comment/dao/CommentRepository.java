@@ -1,13 +1,30 @@
 package ru.practicum.comment.dao;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import ru.practicum.comment.model.Comment;
+import ru.practicum.comment.model.EventCommentsCount;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
     Optional<Comment> findByIdAndCommentatorId(long commentId, long commentatorId);
 
-    List<Comment> findAllByEventId(long eventId);
+    @EntityGraph(attributePaths = {"commentator"})
+    List<Comment> findAllByEventIdAndIdGreaterThanOrderByIdAsc(long eventId, long afterId, Pageable page);
+
+    long countByEventId(long eventId);
+
+    @Query("select c.event.id as eventId, count(c) as commentsCount from Comment c " +
+            "where c.event.id in ?1 group by c.event.id")
+    List<EventCommentsCount> countByEventIdIn(Collection<Long> eventsIds);
+
+    @Query(value = "SELECT * FROM (SELECT c.*, ROW_NUMBER() OVER (PARTITION BY c.event_id ORDER BY c.id) AS preview_position " +
+            "FROM comments c WHERE c.event_id IN (?1)) AS previews " +
+            "WHERE preview_position <= ?2 ORDER BY id", nativeQuery = true)
+    List<Comment> findPreviewsByEventIdIn(Collection<Long> eventsIds, int previewSize);
 }
@@ -0,0 +1,7 @@
+package ru.practicum.comment.model;
+
+public interface EventCommentsCount {
+    long getEventId();
+
+    long getCommentsCount();
+}
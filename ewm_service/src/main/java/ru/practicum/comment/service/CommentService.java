@@ -14,7 +14,7 @@ public interface CommentService {
 
     CommentReplyDto privateEditCommentReply(long userId, long commentReplyId, CommentReplyDto commentReplyDtoDto);
 
-    List<CommentDto> publicGetEventComments(long eventId);
+    List<CommentDto> publicGetEventComments(long eventId, long after, int limit);
 
     CommentDto publicGetCommentById(long commentId);
 
@@ -2,6 +2,7 @@ package ru.practicum.comment.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import ru.practicum.comment.dao.CommentReplyRepository;
 import ru.practicum.comment.dao.CommentRepository;
@@ -20,6 +21,7 @@ import ru.practicum.users.model.User;
 
 import javax.transaction.Transactional;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -89,8 +91,11 @@ public class CommentServiceImpl implements CommentService {
 
     @Override
     @Transactional
-    public List<CommentDto> publicGetEventComments(long eventId) {
-        log.info("Sending to repository request to get event with id: {} comments.", eventId);
+    public List<CommentDto> publicGetEventComments(long eventId, long after, int limit) {
+        if (limit <= 0) {
+            throw new BadRequestException("Comments limit should be positive.");
+        }
+        log.info("Sending to repository request to get event with id: {} comments after comment {}.", eventId, after);
 
         Event event = eventRepository.findById(eventId)
                 .orElseThrow(() -> new NotFoundException("User with id " + eventId + " does not present in repository."));
@@ -98,9 +103,15 @@ public class CommentServiceImpl implements CommentService {
             throw new BadRequestException("View comments for event in PENDING state unavailable.");
         }
 
-        return commentRepository.findAllByEventId(eventId).stream()
-                .map(this::convertCommentToDtoWithReplies)
-                .collect(Collectors.toList());
+        List<Comment> comments = commentRepository.findAllByEventIdAndIdGreaterThanOrderByIdAsc(eventId, after,
+                PageRequest.of(0, limit));
+        if (comments.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<CommentReply> replies = commentReplyRepository.findAllByCommentIdInOrderByIdAsc(comments.stream()
+                .map(Comment::getId)
+                .collect(Collectors.toList()));
+        return Mapper.convertCommentsToDto(comments, replies);
     }
 
     @Override
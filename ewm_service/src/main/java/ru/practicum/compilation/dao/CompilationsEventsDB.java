@@ -2,41 +2,55 @@ package ru.practicum.compilation.dao;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.jdbc.core.JdbcTemplate;
-import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Repository;
 
-import java.sql.ResultSet;
-import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Repository
 @RequiredArgsConstructor
 public class CompilationsEventsDB {
+    private static final int BATCH_SIZE = 500;
+
     private final JdbcTemplate jdbcTemplate;
 
-    public void saveCompilationEvents(long compilationId, List<Long> eventsId) {
+    public void saveCompilationEvents(long compilationId, Collection<Long> eventsId) {
         final String sqlQuery = "INSERT INTO compilations_events (compilation_id, event_id) " +
                 "values (?, ?)";
-        for (Long eventId : eventsId) {
-            jdbcTemplate.update(sqlQuery, compilationId, eventId);
-        }
+        jdbcTemplate.batchUpdate(sqlQuery, eventsId, BATCH_SIZE, (stmt, eventId) -> {
+            stmt.setLong(1, compilationId);
+            stmt.setLong(2, eventId);
+        });
     }
 
-    public List<Long> getCompilationEvents(long compilationId) {
-        final String sqlQuery = "SELECT event_id FROM compilations_events " +
-                "WHERE compilation_id = ?";
-        return jdbcTemplate.query(sqlQuery, new IdRowMapper(), compilationId);
-    }
-
-    public void deleteCompilationEvents(long compilationId) {
-        final String sqlQuery = "DELETE FROM compilations_events WHERE compilation_id = ?";
-        jdbcTemplate.update(sqlQuery, compilationId);
+    public Map<Long, List<Long>> getCompilationsEvents(List<Long> compilationsIds) {
+        Map<Long, List<Long>> compilationsEvents = new HashMap<>();
+        if (compilationsIds.isEmpty()) {
+            return compilationsEvents;
+        }
+        final String sqlQuery = "SELECT compilation_id, event_id FROM compilations_events " +
+                "WHERE compilation_id IN (" + String.join(", ", Collections.nCopies(compilationsIds.size(), "?")) + ") " +
+                "ORDER BY compilation_id, event_id";
+        jdbcTemplate.query(sqlQuery, rs -> {
+            compilationsEvents.computeIfAbsent(rs.getLong("compilation_id"), id -> new ArrayList<>())
+                    .add(rs.getLong("event_id"));
+        }, compilationsIds.toArray());
+        return compilationsEvents;
     }
 
-    private static class IdRowMapper implements RowMapper<Long> {
-        @Override
-        public Long mapRow(ResultSet rs, int rowNum) throws SQLException {
-            return rs.getLong("event_id");
+    public void deleteCompilationEvents(long compilationId, Collection<Long> eventsId) {
+        if (eventsId.isEmpty()) {
+            return;
         }
+        final String sqlQuery = "DELETE FROM compilations_events " +
+                "WHERE compilation_id = ? AND event_id IN (" + String.join(", ", Collections.nCopies(eventsId.size(), "?")) + ")";
+        List<Object> args = new ArrayList<>();
+        args.add(compilationId);
+        args.addAll(eventsId);
+        jdbcTemplate.update(sqlQuery, args.toArray());
     }
 }
@@ -0,0 +1,10 @@
+package ru.practicum.compilation.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class CompilationChangedEvent {
+    private final long compilationId;
+}
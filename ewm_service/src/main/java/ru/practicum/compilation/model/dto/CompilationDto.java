@@ -7,7 +7,7 @@ import ru.practicum.event.model.dto.EventShortDto;
 import java.util.List;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 public class CompilationDto {
     private long id;
     private List<EventShortDto> events;
@@ -0,0 +1,130 @@
+package ru.practicum.compilation.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.Getter;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.category.model.CategoryChangedEvent;
+import ru.practicum.compilation.model.CompilationChangedEvent;
+import ru.practicum.compilation.model.dto.CompilationDto;
+import ru.practicum.event.model.EventChangedEvent;
+import ru.practicum.event.model.dto.EventShortDto;
+import ru.practicum.utils.EventViewsCache;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+@Component
+@Slf4j
+public class CompilationPageCache {
+    private final EventViewsCache viewsCache;
+    private final Cache<PageKey, CompilationPage> pages;
+    private final Timer rebuildTime;
+    private final AtomicLong generation = new AtomicLong();
+
+    public CompilationPageCache(EventViewsCache viewsCache, MeterRegistry meterRegistry,
+                                @Value("${compilations.page-cache.maximum-size:100}") long maximumSize,
+                                @Value("${compilations.page-cache.expire-after-write-seconds:600}") long expireAfterWriteSeconds) {
+        this.viewsCache = viewsCache;
+        this.pages = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(expireAfterWriteSeconds))
+                .recordStats()
+                .build();
+        this.rebuildTime = Timer.builder("compilations.page.rebuild")
+                .description("Time spent assembling a page of compilations on a cache miss.")
+                .register(meterRegistry);
+        CaffeineCacheMetrics.monitor(meterRegistry, pages, "compilationPages");
+    }
+
+    public List<CompilationDto> get(Boolean pinned, int from, int size, Supplier<List<CompilationDto>> loader) {
+        PageKey key = new PageKey(pinned, from, size);
+        CompilationPage page = pages.getIfPresent(key);
+        if (page == null) {
+            long loadedGeneration = generation.get();
+            page = rebuildTime.record(() -> new CompilationPage(loader.get()));
+            if (generation.get() == loadedGeneration) {
+                pages.put(key, page);
+                if (generation.get() != loadedGeneration) {
+                    pages.asMap().remove(key, page);
+                }
+            }
+        }
+        return page.withViews(viewsCache.getAll(page.getEventIds()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChanged(EventChangedEvent event) {
+        generation.incrementAndGet();
+        if (pages.asMap().values().removeIf(page -> page.getEventIds().contains(event.getEventId()))) {
+            log.info("Compilation pages containing event {} were removed from cache.", event.getEventId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        generation.incrementAndGet();
+        if (pages.asMap().values().removeIf(page -> page.getCategoryIds().contains(event.getCategoryId()))) {
+            log.info("Compilation pages containing events of category {} were removed from cache.", event.getCategoryId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCompilationChanged(CompilationChangedEvent event) {
+        generation.incrementAndGet();
+        log.info("Compilation {} changed, compilation pages were removed from cache.", event.getCompilationId());
+        pages.invalidateAll();
+    }
+
+    @EqualsAndHashCode
+    @AllArgsConstructor
+    private static class PageKey {
+        private final Boolean pinned;
+        private final int from;
+        private final int size;
+    }
+
+    @Getter
+    private static class CompilationPage {
+        private final List<CompilationDto> compilations;
+        private final Set<Long> eventIds;
+        private final Set<Long> categoryIds;
+
+        CompilationPage(List<CompilationDto> compilations) {
+            this.compilations = compilations;
+            this.eventIds = compilations.stream()
+                    .flatMap(compilation -> compilation.getEvents().stream())
+                    .map(EventShortDto::getId)
+                    .collect(Collectors.toSet());
+            this.categoryIds = compilations.stream()
+                    .flatMap(compilation -> compilation.getEvents().stream())
+                    .map(event -> event.getCategory().getId())
+                    .collect(Collectors.toSet());
+        }
+
+        List<CompilationDto> withViews(Map<Long, Long> views) {
+            return compilations.stream()
+                    .map(compilation -> compilation.toBuilder()
+                            .events(compilation.getEvents().stream()
+                                    .map(event -> event.toBuilder()
+                                            .views(views.getOrDefault(event.getId(), 0L))
+                                            .build())
+                                    .collect(Collectors.toList()))
+                            .build())
+                    .collect(Collectors.toList());
+        }
+    }
+}
@@ -2,25 +2,32 @@ package ru.practicum.compilation.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import ru.practicum.compilation.dao.CompilationRepository;
 import ru.practicum.compilation.dao.CompilationsEventsDB;
 import ru.practicum.compilation.model.Compilation;
+import ru.practicum.compilation.model.CompilationChangedEvent;
 import ru.practicum.compilation.model.dto.CompilationDto;
 import ru.practicum.compilation.model.dto.NewCompilationDto;
 import ru.practicum.compilation.model.dto.UpdateCompilationRequest;
 import ru.practicum.event.dao.EventRepository;
-import ru.practicum.event.model.Event;
+import ru.practicum.event.model.dto.EventShortDto;
 import ru.practicum.exception.model.BadRequestException;
 import ru.practicum.exception.model.NotFoundException;
 import ru.practicum.utils.ServiceUtils;
 
 import javax.transaction.Transactional;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -31,6 +38,8 @@ public class CompilationServiceImpl implements CompilationService {
     private final EventRepository eventRepository;
     private final CompilationRepository compilationRepository;
     private final CompilationsEventsDB compilationsEventsRepository;
+    private final CompilationPageCache pageCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
@@ -39,10 +48,10 @@ public class CompilationServiceImpl implements CompilationService {
         log.info("Sending to repository request to save new compilation.");
         compilation = compilationRepository.save(compilation);
         log.info("Sending to repository request to save compilation events id's.");
-        compilationsEventsRepository.saveCompilationEvents(compilation.getId(), newCompilationDto.getEvents());
+        compilationsEventsRepository.saveCompilationEvents(compilation.getId(), new LinkedHashSet<>(newCompilationDto.getEvents()));
+        eventPublisher.publishEvent(new CompilationChangedEvent(compilation.getId()));
         log.info("Sending to repository request to get new compilation events: {}.", newCompilationDto.getEvents());
-        List<Event> compilationEvents = eventRepository.findAllById(newCompilationDto.getEvents());
-        return convertCompilationToDto(compilation, compilationEvents);
+        return convertCompilationsToDto(List.of(compilation)).get(0);
     }
 
     @Override
@@ -59,31 +68,38 @@ public class CompilationServiceImpl implements CompilationService {
         Compilation compilation = compilationRepository.findById(compilationId)
                 .orElseThrow(() -> new NotFoundException("Compilation with id " + compilationId + " does not present in repository."));
         if (updateCompilationRequest.getEvents() != null) {
-            log.info("Sending to repository request to delete old compilation events id's.");
-            compilationsEventsRepository.deleteCompilationEvents(compilationId);
-            log.info("Sending to repository request to save compilation events id's: {}.", updateCompilationRequest.getEvents());
-            compilationsEventsRepository.saveCompilationEvents(compilationId, updateCompilationRequest.getEvents());
+            Set<Long> oldEvents = new HashSet<>(compilationsEventsRepository.getCompilationsEvents(List.of(compilationId))
+                    .getOrDefault(compilationId, List.of()));
+            Set<Long> newEvents = new LinkedHashSet<>(updateCompilationRequest.getEvents());
+            List<Long> removedEvents = oldEvents.stream()
+                    .filter(eventId -> !newEvents.contains(eventId))
+                    .collect(Collectors.toList());
+            List<Long> addedEvents = newEvents.stream()
+                    .filter(eventId -> !oldEvents.contains(eventId))
+                    .collect(Collectors.toList());
+            log.info("Sending to repository request to delete compilation events id's: {}.", removedEvents);
+            compilationsEventsRepository.deleteCompilationEvents(compilationId, removedEvents);
+            log.info("Sending to repository request to save compilation events id's: {}.", addedEvents);
+            compilationsEventsRepository.saveCompilationEvents(compilationId, addedEvents);
         }
         compilation = updateCompilationObject(compilation, updateCompilationRequest);
         log.info("Sending to repository request to update compilation.");
         compilationRepository.save(compilation);
-        List<Event> compilationEvents = eventRepository.findAllById(compilationsEventsRepository.getCompilationEvents(compilationId));
-        return convertCompilationToDto(compilation, compilationEvents);
+        eventPublisher.publishEvent(new CompilationChangedEvent(compilationId));
+        return convertCompilationsToDto(List.of(compilation)).get(0);
     }
 
     @Override
     @Transactional
     public List<CompilationDto> publicGetCompilations(Boolean pinned, int from, int size) {
-        Pageable pageable = PageRequest.of(from / size, size);
-        if (pinned == null) {
-            return compilationRepository.findAll(pageable).stream()
-                    .map(compilation -> convertCompilationToDto(compilation, eventRepository.findAllById(compilationsEventsRepository.getCompilationEvents(compilation.getId()))))
-                    .collect(Collectors.toList());
-        }
-        log.info("Sending to repository request to get Pinned({}) compilations.", pinned);
-        return compilationRepository.findAllByPinnedIs(pinned, pageable).stream()
-                .map(compilation -> convertCompilationToDto(compilation, eventRepository.findAllById(compilationsEventsRepository.getCompilationEvents(compilation.getId()))))
-                .collect(Collectors.toList());
+        return pageCache.get(pinned, from, size, () -> {
+            Pageable pageable = PageRequest.of(from / size, size);
+            if (pinned == null) {
+                return convertCompilationsToDto(compilationRepository.findAll(pageable).getContent());
+            }
+            log.info("Sending to repository request to get Pinned({}) compilations.", pinned);
+            return convertCompilationsToDto(compilationRepository.findAllByPinnedIs(pinned, pageable));
+        });
     }
 
     @Override
@@ -92,12 +108,7 @@ public class CompilationServiceImpl implements CompilationService {
         log.info("Sending to repository request to get compilation with id {}.", compilationId);
         Compilation compilation = compilationRepository.findById(compilationId)
                 .orElseThrow(() -> new NotFoundException("Compilation with id " + compilationId + " does not present in repository."));
-        List<Event> compilationEvents = compilationsEventsRepository.getCompilationEvents(compilationId).stream()
-                .map(eventRepository::findById)
-                .filter(Optional::isPresent)
-                .map(Optional::get)
-                .collect(Collectors.toList());
-        return convertCompilationToDto(compilation, compilationEvents);
+        return convertCompilationsToDto(List.of(compilation)).get(0);
     }
 
     @Override
@@ -107,6 +118,7 @@ public class CompilationServiceImpl implements CompilationService {
                 .orElseThrow(() -> new NotFoundException("Compilation with id " + compilationId + " does not present in repository."));
         log.info("Sending to repository request to delete compilation with id {}.", compilationId);
         compilationRepository.deleteById(compilationId);
+        eventPublisher.publishEvent(new CompilationChangedEvent(compilationId));
     }
 
     private Compilation convertCompilationFromDto(NewCompilationDto newCompilationDto) {
@@ -122,15 +134,30 @@ public class CompilationServiceImpl implements CompilationService {
                 .build();
     }
 
-    private CompilationDto convertCompilationToDto(Compilation compilation, List<Event> events) {
-        return CompilationDto.builder()
-                .id(compilation.getId())
-                .events(events.stream()
-                        .map(utils::convertEventToShortDto)
-                        .collect(Collectors.toList()))
-                .pinned(compilation.getPinned())
-                .title(compilation.getTitle())
-                .build();
+    private List<CompilationDto> convertCompilationsToDto(List<Compilation> compilations) {
+        Map<Long, List<Long>> compilationsEvents = compilationsEventsRepository.getCompilationsEvents(compilations.stream()
+                .map(Compilation::getId)
+                .collect(Collectors.toList()));
+        Set<Long> eventIds = compilationsEvents.values().stream()
+                .flatMap(List::stream)
+                .collect(Collectors.toSet());
+        Map<Long, EventShortDto> events = new HashMap<>();
+        if (!eventIds.isEmpty()) {
+            log.info("Sending to repository request to get {} compilation events.", eventIds.size());
+            utils.convertEventsToShortDto(eventRepository.findAllByIdIn(eventIds))
+                    .forEach(event -> events.put(event.getId(), event));
+        }
+        return compilations.stream()
+                .map(compilation -> CompilationDto.builder()
+                        .id(compilation.getId())
+                        .events(compilationsEvents.getOrDefault(compilation.getId(), List.of()).stream()
+                                .map(events::get)
+                                .filter(Objects::nonNull)
+                                .collect(Collectors.toList()))
+                        .pinned(compilation.getPinned())
+                        .title(compilation.getTitle())
+                        .build())
+                .collect(Collectors.toList());
     }
 
     private Compilation updateCompilationObject(Compilation compilation, UpdateCompilationRequest updateCompilationRequest) {
@@ -4,7 +4,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
-import ru.practicum.client.StatisticClient;
+import ru.practicum.client.StatisticHitSender;
 import ru.practicum.dto.StatisticInfoDto;
 import ru.practicum.event.model.dto.*;
 import ru.practicum.event.service.EventService;
@@ -21,7 +21,7 @@ import java.util.List;
 public class EventController {
     private final EventService eventService;
 
-    private final StatisticClient statisticClient;
+    private final StatisticHitSender statisticHitSender;
 
     @PostMapping("/users/{userId}/events")
     @ResponseStatus(code = HttpStatus.CREATED)
@@ -33,16 +33,18 @@ public class EventController {
     @PatchMapping("/users/{userId}/events/{eventId}")
     @ResponseStatus(code = HttpStatus.OK)
     public EventFullDto privateUpdateEvent(@PathVariable long userId, @PathVariable long eventId,
-                                           @RequestBody UpdateEventUserRequest updateEventUserRequest) {
+                                           @RequestBody UpdateEventUserRequest updateEventUserRequest,
+                                           @RequestParam(defaultValue = "true") boolean withComments) {
         log.info("Received request to update event: {}, from user: {}.", eventId, userId);
-        return eventService.privateUpdateEvent(userId, eventId, updateEventUserRequest);
+        return eventService.privateUpdateEvent(userId, eventId, updateEventUserRequest, withComments);
     }
 
     @PatchMapping("/admin/events/{eventId}")
     @ResponseStatus(code = HttpStatus.OK)
-    public EventFullDto adminUpdateEvent(@PathVariable long eventId, @RequestBody UpdateEventAdminRequest updateEventAdminRequest) {
+    public EventFullDto adminUpdateEvent(@PathVariable long eventId, @RequestBody UpdateEventAdminRequest updateEventAdminRequest,
+                                         @RequestParam(defaultValue = "true") boolean withComments) {
         log.info("Received request to update event {}.", eventId);
-        return eventService.adminUpdateEvent(eventId, updateEventAdminRequest);
+        return eventService.adminUpdateEvent(eventId, updateEventAdminRequest, withComments);
     }
 
     @GetMapping("/users/{userId}/events")
@@ -54,9 +56,10 @@ public class EventController {
 
     @GetMapping("/users/{userId}/events/{eventId}")
     @ResponseStatus(code = HttpStatus.OK)
-    public EventFullDto privateGetEventById(@PathVariable long userId, @PathVariable long eventId) {
+    public EventFullDto privateGetEventById(@PathVariable long userId, @PathVariable long eventId,
+                                            @RequestParam(defaultValue = "true") boolean withComments) {
         log.info("Received request to get information about event: {}, from user: {}.", eventId, userId);
-        return eventService.privateGetEventById(userId, eventId);
+        return eventService.privateGetEventById(userId, eventId, withComments);
     }
 
     @GetMapping("/admin/events")
@@ -67,7 +70,8 @@ public class EventController {
                                                 @RequestParam(required = false) String rangeStart,
                                                 @RequestParam(required = false) String rangeEnd,
                                                 @RequestParam(defaultValue = "0") int from,
-                                                @RequestParam(defaultValue = "10") int size) {
+                                                @RequestParam(defaultValue = "10") int size,
+                                                @RequestParam(defaultValue = "true") boolean withComments) {
         log.info("Received request to search events from users {} in {} states, in {} categories from time {} to time {}.",
                 users, states, categories, rangeStart, rangeEnd);
         return eventService.adminSearchEvent(AdminEventSearchParameters.builder()
@@ -78,6 +82,7 @@ public class EventController {
                 .rangeEnd(rangeEnd)
                 .from(from)
                 .size(size)
+                .withComments(withComments)
                 .build());
     }
 
@@ -87,7 +92,8 @@ public class EventController {
                                                   @RequestParam(required = false) List<Long> categories, @RequestParam(required = false) Boolean paid,
                                                   @RequestParam(required = false) String rangeStart, @RequestParam(required = false) String rangeEnd,
                                                   @RequestParam(defaultValue = "false") Boolean onlyAvailable, @RequestParam(defaultValue = "EVENT_DATE") String sort,
-                                                  @RequestParam(defaultValue = "0") int from, @RequestParam(defaultValue = "10") int size,
+                                                  @RequestParam(required = false) Double lat, @RequestParam(required = false) Double lon,
+                                                  @RequestParam(required = false) Double radius, @RequestParam(defaultValue = "0") int from, @RequestParam(defaultValue = "10") int size,
                                                   HttpServletRequest request) {
         log.info("Receive request to get events by parameters.");
         List<EventShortDto> result = eventService.publicSearchEvents(PublicSearchEventParameters.builder()
@@ -97,6 +103,9 @@ public class EventController {
                 .rangeStart(rangeStart)
                 .rangeEnd(rangeEnd)
                 .onlyAvailable(onlyAvailable)
+                .lat(lat)
+                .lon(lon)
+                .radius(radius)
                 .sortType(sort)
                 .from(from)
                 .size(size)
@@ -105,6 +114,13 @@ public class EventController {
         return result;
     }
 
+    @GetMapping("/events/suggest")
+    @ResponseStatus(code = HttpStatus.OK)
+    public List<EventSuggestionDto> publicSuggestEvents(@RequestParam String q, @RequestParam(defaultValue = "10") int size) {
+        log.info("Receive request to suggest events by title prefix {}.", q);
+        return eventService.publicSuggestEvents(q, size);
+    }
+
     @GetMapping("/events/{eventId}")
     @ResponseStatus(code = HttpStatus.OK)
     public EventFullDto publicGetEventById(@PathVariable long eventId, HttpServletRequest request) {
@@ -116,9 +132,9 @@ public class EventController {
 
 
     private void sendStatistic(HttpServletRequest request) {
-        log.info("Sending to statistic client information about request. Api: explore_with_me_service, URI: {}, IP: {}.",
+        log.info("Queueing for statistic client information about request. Api: explore_with_me_service, URI: {}, IP: {}.",
                 request.getRequestURI(), request.getRemoteAddr());
-        statisticClient.post(StatisticInfoDto.builder()
+        statisticHitSender.send(StatisticInfoDto.builder()
                 .app("explore_with_me_service")
                 .uri(request.getRequestURI())
                 .ip(request.getRemoteAddr())
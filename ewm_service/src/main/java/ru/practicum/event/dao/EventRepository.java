@@ -1,19 +1,45 @@
 package ru.practicum.event.dao;
 
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import ru.practicum.event.model.Event;
 import ru.practicum.event.model.State;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
-public interface EventRepository extends JpaRepository<Event, Long> {
-    List<Event> findAllByCategoryId(long categoryId);
+public interface EventRepository extends JpaRepository<Event, Long>, EventSearchRepository {
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM events WHERE category_id = ?1)", nativeQuery = true)
+    boolean existsByCategoryId(long categoryId);
 
+    @Override
+    @EntityGraph(attributePaths = {"initiator", "category"})
+    Optional<Event> findById(Long eventId);
+
+    @EntityGraph(attributePaths = {"initiator", "category"})
+    List<Event> findAllByIdIn(Collection<Long> eventIds);
+
+    @EntityGraph(attributePaths = {"initiator", "category"})
     Optional<Event> findByIdAndInitiatorId(long eventId, long initiatorId);
 
+    @EntityGraph(attributePaths = {"initiator", "category"})
     Optional<Event> findByIdIsAndStateIs(long eventId, State state);
 
+    @EntityGraph(attributePaths = {"initiator", "category"})
     List<Event> findAllByInitiatorId(long initiatorId, Pageable page);
+
+    @Query("select e.id from Event e where e.initiator.id = ?1")
+    List<Long> findIdsByInitiatorId(long initiatorId);
+
+    @Modifying
+    @Query("update Event e set e.confirmedRequests = e.confirmedRequests + ?2 " +
+            "where e.id = ?1 and (e.participantLimit = 0 or e.confirmedRequests + ?2 <= e.participantLimit)")
+    int addConfirmedRequests(long eventId, int amount);
+
+    @Query("select e.confirmedRequests from Event e where e.id = ?1")
+    int findConfirmedRequestsById(long eventId);
 }
@@ -0,0 +1,14 @@
+package ru.practicum.event.dao;
+
+import ru.practicum.event.model.Event;
+import ru.practicum.event.model.dto.AdminEventSearchParameters;
+import ru.practicum.event.model.dto.PublicSearchEventParameters;
+import ru.practicum.event.model.dto.PublicSearchEventSort;
+
+import java.util.List;
+
+public interface EventSearchRepository {
+    List<Event> publicSearch(PublicSearchEventParameters parameters, PublicSearchEventSort sortType);
+
+    List<Event> adminSearch(AdminEventSearchParameters parameters);
+}
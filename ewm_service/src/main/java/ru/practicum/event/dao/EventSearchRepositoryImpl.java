@@ -0,0 +1,234 @@
+package ru.practicum.event.dao;
+
+import lombok.RequiredArgsConstructor;
+import ru.practicum.event.model.Event;
+import ru.practicum.event.model.EventTextMatch;
+import ru.practicum.event.model.State;
+import ru.practicum.event.model.dto.AdminEventSearchParameters;
+import ru.practicum.event.model.dto.PublicSearchEventParameters;
+import ru.practicum.event.model.dto.PublicSearchEventSort;
+import ru.practicum.utils.Mapper;
+
+import javax.persistence.EntityManager;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.Order;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@RequiredArgsConstructor
+public class EventSearchRepositoryImpl implements EventSearchRepository {
+    private static final double EARTH_RADIUS_KM = 6371.0;
+
+    private final EntityManager entityManager;
+    private final EventTextSearch textSearch;
+
+    @Override
+    public List<Event> publicSearch(PublicSearchEventParameters parameters, PublicSearchEventSort sortType) {
+        if (parameters.getText() != null && !parameters.getText().isBlank()) {
+            return getTextSearchPage(parameters, sortType);
+        }
+        if (parameters.getLat() != null && parameters.getLon() != null && parameters.getRadius() != null) {
+            return getLocationSearchPage(parameters, sortType);
+        }
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Event> query = cb.createQuery(Event.class);
+        Root<Event> event = query.from(Event.class);
+
+        List<Predicate> predicates = getPublicSearchPredicates(cb, event, parameters, null);
+        return getPage(query, event, predicates, getPublicSearchOrder(cb, event, sortType), parameters.getFrom(), parameters.getSize());
+    }
+
+    @Override
+    public List<Event> adminSearch(AdminEventSearchParameters parameters) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Event> query = cb.createQuery(Event.class);
+        Root<Event> event = query.from(Event.class);
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (parameters.getUsersIds() != null && !parameters.getUsersIds().isEmpty()) {
+            predicates.add(event.get("initiator").get("id").in(parameters.getUsersIds()));
+        }
+        if (parameters.getStates() != null && !parameters.getStates().isEmpty()) {
+            List<State> states = parameters.getStates().stream()
+                    .map(State::parseState)
+                    .map(Optional::get)
+                    .collect(Collectors.toList());
+            predicates.add(event.get("state").in(states));
+        }
+        if (parameters.getCategories() != null && !parameters.getCategories().isEmpty()) {
+            predicates.add(event.get("category").get("id").in(parameters.getCategories()));
+        }
+        addEventDatePredicates(cb, event, predicates, parameters.getRangeStart(), parameters.getRangeEnd());
+
+        return getPage(query, event, predicates, List.of(cb.asc(event.get("id"))), parameters.getFrom(), parameters.getSize());
+    }
+
+    private List<Event> getTextSearchPage(PublicSearchEventParameters parameters, PublicSearchEventSort sortType) {
+        // matches arrive in the requested order, so filtering stops once the page is covered
+        int requiredCount = parameters.getFrom() + parameters.getSize();
+        List<Long> filteredIds = new ArrayList<>();
+        EventTextMatch after = null;
+        while (filteredIds.size() < requiredCount) {
+            List<EventTextMatch> matches = textSearch.search(parameters.getText(), sortType, after);
+            if (matches.isEmpty()) {
+                break;
+            }
+            filteredIds.addAll(filterMatches(parameters, matches));
+            after = matches.get(matches.size() - 1);
+        }
+        List<Long> pageIds = filteredIds.stream()
+                .skip(parameters.getFrom())
+                .limit(parameters.getSize())
+                .collect(Collectors.toList());
+        return getEventsInOrder(pageIds);
+    }
+
+    private List<Event> getLocationSearchPage(PublicSearchEventParameters parameters, PublicSearchEventSort sortType) {
+        // the page is resolved on events alone, so the location index drives it instead of a join with users or categories
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Event> event = query.from(Event.class);
+        query.select(event.get("id"))
+                .where(getPublicSearchPredicates(cb, event, parameters, null).toArray(new Predicate[0]))
+                .orderBy(getPublicSearchOrder(cb, event, sortType));
+        List<Long> pageIds = entityManager.createQuery(query)
+                .setFirstResult(parameters.getFrom())
+                .setMaxResults(parameters.getSize())
+                .getResultList();
+        return getEventsInOrder(pageIds);
+    }
+
+    private List<Event> getEventsInOrder(List<Long> eventsIds) {
+        if (eventsIds.isEmpty()) {
+            return List.of();
+        }
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Event> query = cb.createQuery(Event.class);
+        Root<Event> event = query.from(Event.class);
+        event.fetch("initiator");
+        event.fetch("category");
+        query.select(event).where(event.get("id").in(eventsIds));
+        Map<Long, Event> events = entityManager.createQuery(query).getResultList().stream()
+                .collect(Collectors.toMap(Event::getId, Function.identity()));
+        return eventsIds.stream()
+                .map(events::get)
+                .collect(Collectors.toList());
+    }
+
+    private List<Long> filterMatches(PublicSearchEventParameters parameters, List<EventTextMatch> matches) {
+        List<Long> matchedIds = matches.stream()
+                .map(EventTextMatch::getEventId)
+                .collect(Collectors.toList());
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Event> event = query.from(Event.class);
+        query.select(event.get("id"))
+                .where(getPublicSearchPredicates(cb, event, parameters, matchedIds).toArray(new Predicate[0]));
+        Set<Long> filteredIds = new HashSet<>(entityManager.createQuery(query).getResultList());
+        return matchedIds.stream()
+                .filter(filteredIds::contains)
+                .collect(Collectors.toList());
+    }
+
+    private List<Order> getPublicSearchOrder(CriteriaBuilder cb, Root<Event> event, PublicSearchEventSort sortType) {
+        return sortType.equals(PublicSearchEventSort.VIEWS)
+                ? List.of(cb.desc(event.get("views")), cb.asc(event.get("id")))
+                : List.of(cb.asc(event.get("eventDate")), cb.asc(event.get("id")));
+    }
+
+    private List<Predicate> getPublicSearchPredicates(CriteriaBuilder cb, Root<Event> event,
+                                                      PublicSearchEventParameters parameters, List<Long> matchedIds) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (matchedIds != null) {
+            predicates.add(event.get("id").in(matchedIds));
+        }
+        if (parameters.getCategories() != null && !parameters.getCategories().isEmpty()) {
+            predicates.add(event.get("category").get("id").in(parameters.getCategories()));
+        }
+        if (parameters.getPaid() != null) {
+            predicates.add(cb.equal(event.get("paid"), parameters.getPaid()));
+        }
+        if (parameters.getOnlyAvailable() != null) {
+            predicates.add(cb.or(
+                    cb.equal(event.get("participantLimit"), 0),
+                    cb.lessThan(event.get("confirmedRequests"), event.get("participantLimit"))));
+        }
+        if (parameters.getLat() != null && parameters.getLon() != null && parameters.getRadius() != null) {
+            addLocationPredicates(cb, event, predicates, parameters.getLat(), parameters.getLon(), parameters.getRadius());
+        }
+        addEventDatePredicates(cb, event, predicates, parameters.getRangeStart(), parameters.getRangeEnd());
+        return predicates;
+    }
+
+    private void addLocationPredicates(CriteriaBuilder cb, Root<Event> event, List<Predicate> predicates,
+                                       double lat, double lon, double radius) {
+        double angularRadius = radius / EARTH_RADIUS_KM;
+        if (angularRadius >= Math.PI) {
+            // half the circumference reaches the antipode, so every location matches
+            return;
+        }
+        double latDelta = Math.toDegrees(angularRadius);
+        predicates.add(cb.between(event.get("latitude"), lat - latDelta, lat + latDelta));
+        if (Math.abs(lat) + latDelta < 90) {
+            double lonDelta = Math.toDegrees(Math.asin(Math.sin(angularRadius) / Math.cos(Math.toRadians(lat))));
+            double westLon = lon - lonDelta;
+            double eastLon = lon + lonDelta;
+            if (westLon < -180) {
+                // the box wraps across the antimeridian, so it is split into its eastern and western parts
+                predicates.add(cb.or(cb.ge(event.get("longitude"), westLon + 360), cb.le(event.get("longitude"), eastLon)));
+            } else if (eastLon > 180) {
+                predicates.add(cb.or(cb.ge(event.get("longitude"), westLon), cb.le(event.get("longitude"), eastLon - 360)));
+            } else {
+                predicates.add(cb.between(event.get("longitude"), westLon, eastLon));
+            }
+        }
+
+        // haversine: the distance is within radius when hav(d / R) <= sin^2(radius / 2R)
+        Expression<Double> eventLat = cb.function("radians", Double.class, event.get("latitude"));
+        Expression<Double> eventLon = cb.function("radians", Double.class, event.get("longitude"));
+        Expression<Double> sinHalfLatDiff = cb.function("sin", Double.class,
+                cb.quot(cb.diff(eventLat, Math.toRadians(lat)), 2.0));
+        Expression<Double> sinHalfLonDiff = cb.function("sin", Double.class,
+                cb.quot(cb.diff(eventLon, Math.toRadians(lon)), 2.0));
+        Expression<Double> haversine = cb.sum(
+                cb.prod(sinHalfLatDiff, sinHalfLatDiff),
+                cb.prod(cb.prod(cb.function("cos", Double.class, eventLat), Math.cos(Math.toRadians(lat))),
+                        cb.prod(sinHalfLonDiff, sinHalfLonDiff)));
+        double sinHalfAngularRadius = Math.sin(angularRadius / 2);
+        predicates.add(cb.le(haversine, sinHalfAngularRadius * sinHalfAngularRadius));
+    }
+
+    private void addEventDatePredicates(CriteriaBuilder cb, Root<Event> event, List<Predicate> predicates,
+                                        String rangeStart, String rangeEnd) {
+        if (rangeStart != null) {
+            predicates.add(cb.greaterThan(event.get("eventDate"), LocalDateTime.parse(rangeStart, Mapper.formatter)));
+            if (rangeEnd != null) {
+                predicates.add(cb.lessThan(event.get("eventDate"), LocalDateTime.parse(rangeEnd, Mapper.formatter)));
+            }
+        }
+    }
+
+    private List<Event> getPage(CriteriaQuery<Event> query, Root<Event> event,
+                                List<Predicate> predicates, List<Order> order, int from, int size) {
+        event.fetch("initiator");
+        event.fetch("category");
+        query.select(event)
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(order);
+        return entityManager.createQuery(query)
+                .setFirstResult(from)
+                .setMaxResults(size)
+                .getResultList();
+    }
+}
@@ -0,0 +1,10 @@
+package ru.practicum.event.dao;
+
+import ru.practicum.event.model.EventTextMatch;
+import ru.practicum.event.model.dto.PublicSearchEventSort;
+
+import java.util.List;
+
+public interface EventTextSearch {
+    List<EventTextMatch> search(String text, PublicSearchEventSort sortType, EventTextMatch after);
+}
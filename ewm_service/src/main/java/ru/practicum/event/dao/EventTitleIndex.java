@@ -0,0 +1,102 @@
+package ru.practicum.event.dao;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.event.model.EventChangedEvent;
+import ru.practicum.event.model.State;
+
+import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+@Repository
+@RequiredArgsConstructor
+@Slf4j
+public class EventTitleIndex {
+    private static final char KEY_SEPARATOR = '\u0000';
+    private static final char KEY_RANGE_END = '\uffff';
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ConcurrentNavigableMap<String, Long> eventsIdsByKey = new ConcurrentSkipListMap<>();
+    private final Map<Long, String> titlesByEventId = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void buildIndex() {
+        final String sqlQuery = "SELECT id, title FROM events WHERE state_condition = ?";
+        jdbcTemplate.query(sqlQuery, rs -> {
+            addTitle(rs.getLong("id"), rs.getString("title"));
+        }, State.PUBLISHED.name());
+        log.info("Events title index built with {} published events.", titlesByEventId.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onEventChanged(EventChangedEvent event) {
+        final String sqlQuery = "SELECT title FROM events WHERE id = ? AND state_condition = ?";
+        List<String> titles = jdbcTemplate.queryForList(sqlQuery, String.class, event.getEventId(), State.PUBLISHED.name());
+        removeTitle(event.getEventId());
+        if (!titles.isEmpty()) {
+            addTitle(event.getEventId(), titles.get(0));
+        }
+    }
+
+    public Map<Long, String> findByPrefix(String prefix, int limit) {
+        Map<Long, String> titles = new LinkedHashMap<>();
+        String normalizedPrefix = normalize(prefix);
+        if (normalizedPrefix.isEmpty()) {
+            return titles;
+        }
+        for (Long eventId : eventsIdsByKey.subMap(normalizedPrefix, normalizedPrefix + KEY_RANGE_END).values()) {
+            if (titles.size() >= limit) {
+                break;
+            }
+            String title = titlesByEventId.get(eventId);
+            if (title != null) {
+                titles.putIfAbsent(eventId, title);
+            }
+        }
+        return titles;
+    }
+
+    private void addTitle(long eventId, String title) {
+        if (title == null) {
+            return;
+        }
+        titlesByEventId.put(eventId, title);
+        for (String key : makeKeys(eventId, title)) {
+            eventsIdsByKey.put(key, eventId);
+        }
+    }
+
+    private void removeTitle(long eventId) {
+        String title = titlesByEventId.remove(eventId);
+        if (title == null) {
+            return;
+        }
+        for (String key : makeKeys(eventId, title)) {
+            eventsIdsByKey.remove(key);
+        }
+    }
+
+    private List<String> makeKeys(long eventId, String title) {
+        List<String> keys = new ArrayList<>();
+        String normalizedTitle = normalize(title);
+        for (int i = 0; i < normalizedTitle.length(); i++) {
+            if (i == 0 || normalizedTitle.charAt(i - 1) == ' ') {
+                keys.add(normalizedTitle.substring(i) + KEY_SEPARATOR + eventId);
+            }
+        }
+        return keys;
+    }
+
+    private String normalize(String text) {
+        return text.toLowerCase().replaceAll("[^\\p{L}\\p{N}]+", " ").trim();
+    }
+}
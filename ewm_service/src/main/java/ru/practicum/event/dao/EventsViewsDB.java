@@ -0,0 +1,50 @@
+package ru.practicum.event.dao;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import ru.practicum.event.model.State;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+@Repository
+@RequiredArgsConstructor
+public class EventsViewsDB {
+    private static final int BATCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public List<Long> getEventsIdsAfter(State state, long afterId, int limit) {
+        final String sqlQuery = "SELECT id FROM events " +
+                "WHERE state_condition = ? AND id > ? " +
+                "ORDER BY id LIMIT ?";
+        return jdbcTemplate.queryForList(sqlQuery, Long.class, state.name(), afterId, limit);
+    }
+
+    public List<Long> getEventsIds(State state, Collection<Long> eventsIds) {
+        if (eventsIds.isEmpty()) {
+            return List.of();
+        }
+        final String sqlQuery = "SELECT id FROM events " +
+                "WHERE state_condition = ? AND id IN (" + String.join(", ", Collections.nCopies(eventsIds.size(), "?")) + ") " +
+                "ORDER BY id";
+        List<Object> args = new ArrayList<>();
+        args.add(state.name());
+        args.addAll(eventsIds);
+        return jdbcTemplate.queryForList(sqlQuery, Long.class, args.toArray());
+    }
+
+    public void saveEventsViews(Map<Long, Long> viewsByEventId) {
+        final String sqlQuery = "UPDATE events SET views = ? " +
+                "WHERE id = ? AND views <> ?";
+        jdbcTemplate.batchUpdate(sqlQuery, new ArrayList<>(viewsByEventId.entrySet()), BATCH_SIZE, (stmt, views) -> {
+            stmt.setLong(1, views.getValue());
+            stmt.setLong(2, views.getKey());
+            stmt.setLong(3, views.getValue());
+        });
+    }
+}
@@ -0,0 +1,199 @@
+package ru.practicum.event.dao;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.FieldDoc;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.event.model.EventChangedEvent;
+import ru.practicum.event.model.EventTextMatch;
+import ru.practicum.event.model.EventsViewsChangedEvent;
+import ru.practicum.event.model.dto.PublicSearchEventSort;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@Repository
+@Slf4j
+@ConditionalOnProperty(name = "spring.sql.init.platform", havingValue = "h2")
+public class LuceneEventTextSearch implements EventTextSearch {
+    private static final String ID = "id";
+    private static final String ID_ORDER = "id_order";
+    private static final String EVENT_DATE = "event_date";
+    private static final String VIEWS = "views";
+    private static final Map<PublicSearchEventSort, Sort> SORTS = Map.of(
+            PublicSearchEventSort.RELEVANCE, new Sort(SortField.FIELD_SCORE, new SortField(ID_ORDER, SortField.Type.LONG)),
+            PublicSearchEventSort.EVENT_DATE, new Sort(new SortField(EVENT_DATE, SortField.Type.LONG),
+                    new SortField(ID_ORDER, SortField.Type.LONG)),
+            PublicSearchEventSort.VIEWS, new Sort(new SortField(VIEWS, SortField.Type.LONG, true),
+                    new SortField(ID_ORDER, SortField.Type.LONG)));
+    private static final Map<String, Float> FIELDS_BOOSTS = Map.of("title", 3f, "annotation", 2f, "description", 1f);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int pageSize;
+    private final Analyzer analyzer;
+    private final IndexWriter indexWriter;
+    private final SearcherManager searcherManager;
+
+    public LuceneEventTextSearch(JdbcTemplate jdbcTemplate,
+                                 @Value("${events.text-search.page-size}") int pageSize) throws IOException {
+        this.jdbcTemplate = jdbcTemplate;
+        this.pageSize = pageSize;
+        this.analyzer = new StandardAnalyzer();
+        this.indexWriter = new IndexWriter(new ByteBuffersDirectory(), new IndexWriterConfig(analyzer));
+        this.searcherManager = new SearcherManager(indexWriter, null);
+    }
+
+    @PostConstruct
+    public void buildIndex() throws IOException {
+        final String sqlQuery = "SELECT id, title, annotation, description, event_date, views FROM events";
+        jdbcTemplate.query(sqlQuery, rs -> {
+            try {
+                indexWriter.addDocument(makeDocument(rs));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        searcherManager.maybeRefresh();
+        log.info("Events text index built with {} documents.", indexWriter.getDocStats().numDocs);
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        searcherManager.close();
+        indexWriter.close();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChanged(EventChangedEvent event) throws IOException {
+        final String sqlQuery = "SELECT id, title, annotation, description, event_date, views FROM events WHERE id = ?";
+        List<Document> documents = jdbcTemplate.query(sqlQuery, (rs, rowNum) -> makeDocument(rs), event.getEventId());
+        Term idTerm = new Term(ID, String.valueOf(event.getEventId()));
+        if (documents.isEmpty()) {
+            indexWriter.deleteDocuments(idTerm);
+        } else {
+            indexWriter.updateDocument(idTerm, documents.get(0));
+        }
+        searcherManager.maybeRefresh();
+    }
+
+    @EventListener
+    public void onEventsViewsChanged(EventsViewsChangedEvent event) throws IOException {
+        if (!indexWriter.getFieldNames().contains(VIEWS)) {
+            // nothing has been indexed yet, so there are no views to update
+            return;
+        }
+        for (Map.Entry<Long, Long> views : event.getViewsByEventId().entrySet()) {
+            indexWriter.updateNumericDocValue(new Term(ID, String.valueOf(views.getKey())), VIEWS, views.getValue());
+        }
+        searcherManager.maybeRefresh();
+    }
+
+    @Override
+    public List<EventTextMatch> search(String text, PublicSearchEventSort sortType, EventTextMatch after) {
+        List<String> terms = analyze(text);
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+        for (String term : terms) {
+            BooleanQuery.Builder termQuery = new BooleanQuery.Builder();
+            FIELDS_BOOSTS.forEach((field, boost) -> {
+                termQuery.add(new BoostQuery(new TermQuery(new Term(field, term)), boost), BooleanClause.Occur.SHOULD);
+                termQuery.add(new BoostQuery(new PrefixQuery(new Term(field, term)), boost / 2), BooleanClause.Occur.SHOULD);
+            });
+            query.add(termQuery.build(), BooleanClause.Occur.MUST);
+        }
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                // the sort values end with the unique id, so only the cursor itself ties with them and the last
+                // document number excludes it without relying on document numbers that change between searches
+                FieldDoc afterDoc = after == null
+                        ? null
+                        : new FieldDoc(searcher.getIndexReader().maxDoc() - 1, Float.NaN, after.getSortValues());
+                ScoreDoc[] scoreDocs = searcher.searchAfter(afterDoc, query.build(), pageSize, SORTS.get(sortType),
+                        sortType.equals(PublicSearchEventSort.RELEVANCE)).scoreDocs;
+                List<EventTextMatch> matches = new ArrayList<>();
+                for (ScoreDoc scoreDoc : scoreDocs) {
+                    long eventId = Long.parseLong(searcher.doc(scoreDoc.doc).get(ID));
+                    matches.add(new EventTextMatch(eventId, ((FieldDoc) scoreDoc).fields));
+                }
+                return matches;
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Document makeDocument(ResultSet rs) throws SQLException {
+        Document document = new Document();
+        document.add(new StringField(ID, String.valueOf(rs.getLong("id")), Field.Store.YES));
+        document.add(new NumericDocValuesField(ID_ORDER, rs.getLong("id")));
+        Timestamp eventDate = rs.getTimestamp("event_date");
+        // events without a date sort last, as they do in an ascending SQL order
+        document.add(new NumericDocValuesField(EVENT_DATE, eventDate == null
+                ? Long.MAX_VALUE
+                : eventDate.toLocalDateTime().toInstant(ZoneOffset.UTC).toEpochMilli()));
+        document.add(new NumericDocValuesField(VIEWS, rs.getLong("views")));
+        for (String field : FIELDS_BOOSTS.keySet()) {
+            String value = rs.getString(field);
+            if (value != null) {
+                document.add(new TextField(field, value, Field.Store.NO));
+            }
+        }
+        return document;
+    }
+
+    private List<String> analyze(String text) {
+        List<String> terms = new ArrayList<>();
+        try (TokenStream tokenStream = analyzer.tokenStream("title", text)) {
+            CharTermAttribute term = tokenStream.addAttribute(CharTermAttribute.class);
+            tokenStream.reset();
+            while (tokenStream.incrementToken()) {
+                terms.add(term.toString());
+            }
+            tokenStream.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return terms;
+    }
+}
@@ -0,0 +1,66 @@
+package ru.practicum.event.dao;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import ru.practicum.event.model.EventTextMatch;
+import ru.practicum.event.model.dto.PublicSearchEventSort;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Repository
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "spring.sql.init.platform", havingValue = "postgresql")
+public class PostgresEventTextSearch implements EventTextSearch {
+    private static final Map<PublicSearchEventSort, String> SORT_VALUES = Map.of(
+            PublicSearchEventSort.RELEVANCE, "ts_rank(search_vector, query)",
+            PublicSearchEventSort.EVENT_DATE, "event_date",
+            PublicSearchEventSort.VIEWS, "views");
+    // each page continues after the sort value and id of the previous one instead of skipping an offset
+    private static final Map<PublicSearchEventSort, String> AFTER_CONDITIONS = Map.of(
+            PublicSearchEventSort.RELEVANCE, "AND (ts_rank(search_vector, query) < ?::real " +
+                    "OR ts_rank(search_vector, query) = ?::real AND id > ?) ",
+            PublicSearchEventSort.EVENT_DATE, "AND (event_date > ? OR event_date = ? AND id > ?) ",
+            PublicSearchEventSort.VIEWS, "AND (views < ? OR views = ? AND id > ?) ");
+    private static final Map<PublicSearchEventSort, String> ORDERS = Map.of(
+            PublicSearchEventSort.RELEVANCE, "ORDER BY sort_value DESC, id ",
+            PublicSearchEventSort.EVENT_DATE, "ORDER BY event_date, id ",
+            PublicSearchEventSort.VIEWS, "ORDER BY views DESC, id ");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${events.text-search.page-size}")
+    private int pageSize;
+
+    @Override
+    public List<EventTextMatch> search(String text, PublicSearchEventSort sortType, EventTextMatch after) {
+        List<String> terms = Arrays.stream(text.toLowerCase().split("[^\\p{L}\\p{N}]+"))
+                .filter(term -> !term.isEmpty())
+                .map(term -> term + ":*")
+                .collect(Collectors.toList());
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+        final String sqlQuery = "SELECT id, " + SORT_VALUES.get(sortType) + " AS sort_value " +
+                "FROM events, to_tsquery('simple', ?) query " +
+                "WHERE search_vector @@ query " +
+                (after == null ? "" : AFTER_CONDITIONS.get(sortType)) +
+                ORDERS.get(sortType) +
+                "LIMIT ?";
+        List<Object> params = new ArrayList<>();
+        params.add(String.join(" & ", terms));
+        if (after != null) {
+            Object sortValue = after.getSortValues()[0];
+            params.addAll(List.of(sortValue, sortValue, after.getEventId()));
+        }
+        params.add(pageSize);
+        return jdbcTemplate.query(sqlQuery, (rs, rowNum) -> new EventTextMatch(rs.getLong("id"),
+                new Object[]{rs.getObject("sort_value")}), params.toArray());
+    }
+}
@@ -56,8 +56,10 @@ public class Event {
     private boolean paid;
     @Column(name = "request_moderation")
     private boolean requestModeration;
-    @Column(name = "confirmed_requests", nullable = false)
+    @Column(name = "confirmed_requests", nullable = false, updatable = false)
     private int confirmedRequests;
+    @Column(name = "views", insertable = false, updatable = false)
+    private long views;
     @Column(name = "state_condition", nullable = false)
     @Enumerated(EnumType.STRING)
     private State state;
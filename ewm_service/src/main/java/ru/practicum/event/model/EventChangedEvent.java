@@ -0,0 +1,10 @@
+package ru.practicum.event.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class EventChangedEvent {
+    private final long eventId;
+}
@@ -0,0 +1,11 @@
+package ru.practicum.event.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class EventTextMatch {
+    private final long eventId;
+    private final Object[] sortValues;
+}
@@ -0,0 +1,12 @@
+package ru.practicum.event.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Map;
+
+@Getter
+@AllArgsConstructor
+public class EventsViewsChangedEvent {
+    private final Map<Long, Long> viewsByEventId;
+}
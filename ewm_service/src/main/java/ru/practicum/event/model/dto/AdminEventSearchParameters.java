@@ -15,4 +15,5 @@ public class AdminEventSearchParameters {
     private String rangeEnd;
     private Integer from;
     private Integer size;
+    private boolean withComments;
 }
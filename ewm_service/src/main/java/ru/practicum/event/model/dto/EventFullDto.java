@@ -28,6 +28,7 @@ public class EventFullDto {
     private int confirmedRequests;
     private boolean requestModeration;
     private State state;
+    private Long commentsCount;
     private List<CommentDto> comments;
     private long views;
 }
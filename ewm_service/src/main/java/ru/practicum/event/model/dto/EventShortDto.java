@@ -6,7 +6,7 @@ import ru.practicum.category.model.dto.CategoryDto;
 import ru.practicum.users.model.dto.UserShortDto;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 public class EventShortDto {
     private long id;
     private String annotation;
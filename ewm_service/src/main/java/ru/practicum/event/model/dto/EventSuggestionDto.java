@@ -0,0 +1,11 @@
+package ru.practicum.event.model.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class EventSuggestionDto {
+    private long id;
+    private String title;
+}
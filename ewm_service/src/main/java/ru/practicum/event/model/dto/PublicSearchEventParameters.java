@@ -14,6 +14,9 @@ public class PublicSearchEventParameters {
     private String rangeStart;
     private String rangeEnd;
     private Boolean onlyAvailable;
+    private Double lat;
+    private Double lon;
+    private Double radius;
     private String sortType;
     private int from;
     private int size;
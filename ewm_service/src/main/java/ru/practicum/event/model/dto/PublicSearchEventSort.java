@@ -3,7 +3,7 @@ package ru.practicum.event.model.dto;
 import java.util.Optional;
 
 public enum PublicSearchEventSort {
-    EVENT_DATE, VIEWS;
+    EVENT_DATE, VIEWS, RELEVANCE;
 
     public static Optional<PublicSearchEventSort> parseSearchSort(String query) {
         return Optional.of(PublicSearchEventSort.valueOf(query));
@@ -7,17 +7,20 @@ import java.util.List;
 public interface EventService {
     EventFullDto privateAddNewEvent(long userId, NewEventDto newEventDto);
 
-    EventFullDto adminUpdateEvent(long eventId, UpdateEventAdminRequest updateEventAdminRequest);
+    EventFullDto adminUpdateEvent(long eventId, UpdateEventAdminRequest updateEventAdminRequest, boolean withComments);
 
-    EventFullDto privateUpdateEvent(long userId, long eventId, UpdateEventUserRequest updateEventUserRequest);
+    EventFullDto privateUpdateEvent(long userId, long eventId, UpdateEventUserRequest updateEventUserRequest,
+                                    boolean withComments);
 
     List<EventFullDto> adminSearchEvent(AdminEventSearchParameters adminEventSearchParameters);
 
     List<EventShortDto> privateGetUserEvents(long userId, int from, int size);
 
-    EventFullDto privateGetEventById(long userId, long eventId);
+    EventFullDto privateGetEventById(long userId, long eventId, boolean withComments);
 
     List<EventShortDto> publicSearchEvents(PublicSearchEventParameters parameters);
 
     EventFullDto publicGetEventById(long eventId);
+
+    List<EventSuggestionDto> publicSuggestEvents(String query, int size);
 }
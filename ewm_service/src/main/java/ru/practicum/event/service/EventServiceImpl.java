@@ -2,13 +2,16 @@ package ru.practicum.event.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import ru.practicum.category.dao.CategoryRepository;
 import ru.practicum.category.model.Category;
 import ru.practicum.event.dao.EventRepository;
+import ru.practicum.event.dao.EventTitleIndex;
 import ru.practicum.event.model.Event;
+import ru.practicum.event.model.EventChangedEvent;
 import ru.practicum.event.model.State;
 import ru.practicum.event.model.dto.*;
 import ru.practicum.exception.model.BadRequestException;
@@ -21,10 +24,7 @@ import ru.practicum.users.model.User;
 
 import javax.transaction.Transactional;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
-import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
@@ -35,7 +35,9 @@ public class EventServiceImpl implements EventService {
     private final CategoryRepository categoryRepository;
     private final UserRepository userRepository;
     private final EventRepository eventRepository;
+    private final EventTitleIndex titleIndex;
     private final ServiceUtils utils;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
@@ -46,22 +48,27 @@ public class EventServiceImpl implements EventService {
 
         Event event = convertEventFromNewDto(newEventDto, userId);
         log.info("Sending to repository request to add new event with status: {}.", event.getState());
-        return utils.convertEventToFullDto(eventRepository.save(event));
+        event = eventRepository.save(event);
+        eventPublisher.publishEvent(new EventChangedEvent(event.getId()));
+        return utils.convertEventToFullDto(event);
     }
 
     @Override
     @Transactional
-    public EventFullDto adminUpdateEvent(long eventId, UpdateEventAdminRequest updateEventAdminRequest) {
+    public EventFullDto adminUpdateEvent(long eventId, UpdateEventAdminRequest updateEventAdminRequest, boolean withComments) {
         Event updatedEvent = adminUpdateEventObject(eventRepository.findById(eventId)
                         .orElseThrow(() -> new NotFoundException("Event with id " + eventId + " does not present in repository.")),
                 updateEventAdminRequest);
         log.info("Sending to repository request to update event {}.", eventId);
-        return utils.convertEventToFullDto(eventRepository.save(updatedEvent));
+        updatedEvent = eventRepository.save(updatedEvent);
+        eventPublisher.publishEvent(new EventChangedEvent(eventId));
+        return utils.convertEventToFullDto(updatedEvent, withComments);
     }
 
     @Override
     @Transactional
-    public EventFullDto privateUpdateEvent(long userId, long eventId, UpdateEventUserRequest updateEventUserRequest) {
+    public EventFullDto privateUpdateEvent(long userId, long eventId, UpdateEventUserRequest updateEventUserRequest,
+                                           boolean withComments) {
         Event event = eventRepository.findByIdAndInitiatorId(eventId, userId)
                 .orElseThrow(() -> new NotFoundException("Event with id " + eventId + " from user " + userId + " does not present in repository."));
         if (event.getState().equals(State.PUBLISHED)) {
@@ -69,45 +76,16 @@ public class EventServiceImpl implements EventService {
         }
         event = privateUpdateEvent(event, updateEventUserRequest);
         log.info("Sending to repository request to update event with id {} by owner.", eventId);
-        return utils.convertEventToFullDto(eventRepository.save(event));
+        event = eventRepository.save(event);
+        eventPublisher.publishEvent(new EventChangedEvent(eventId));
+        return utils.convertEventToFullDto(event, withComments);
     }
 
     @Override
     @Transactional
     public List<EventFullDto> adminSearchEvent(AdminEventSearchParameters searchParameters) {
-        List<Event> events = eventRepository.findAll();
-        if (searchParameters.getUsersIds() != null && !searchParameters.getUsersIds().isEmpty()) {
-            events = events.stream()
-                    .filter(event -> searchParameters.getUsersIds().contains(event.getInitiator().getId()))
-                    .collect(Collectors.toList());
-        }
-        if (searchParameters.getStates() != null && !searchParameters.getStates().isEmpty()) {
-            List<State> states = searchParameters.getStates().stream()
-                    .map(State::parseState)
-                    .map(Optional::get)
-                    .collect(Collectors.toList());
-            events = events.stream()
-                    .filter(event -> states.contains(event.getState()))
-                    .collect(Collectors.toList());
-        }
-        if (searchParameters.getCategories() != null && !searchParameters.getCategories().isEmpty()) {
-            events = events.stream()
-                    .filter(event -> searchParameters.getCategories().contains(event.getCategory().getId()))
-                    .collect(Collectors.toList());
-        }
-        if (searchParameters.getRangeStart() != null) {
-            LocalDateTime start = LocalDateTime.parse(searchParameters.getRangeStart(), Mapper.formatter);
-            events = events.stream()
-                    .filter(event -> event.getEventDate().isAfter(start))
-                    .collect(Collectors.toList());
-            if (searchParameters.getRangeEnd() != null) {
-                LocalDateTime end = LocalDateTime.parse(searchParameters.getRangeEnd(), Mapper.formatter);
-                events = events.stream()
-                        .filter(event -> event.getEventDate().isBefore(end))
-                        .collect(Collectors.toList());
-            }
-        }
-        return formResultForAdminEventSearch(events, searchParameters.getFrom(), searchParameters.getSize());
+        log.info("Sending to repository request to search events by administrator parameters.");
+        return formResultForAdminEventSearch(eventRepository.adminSearch(searchParameters), searchParameters.isWithComments());
     }
 
     @Override
@@ -115,61 +93,40 @@ public class EventServiceImpl implements EventService {
     public List<EventShortDto> privateGetUserEvents(long userId, int from, int size) {
         log.info("Sending to repository request to get events of user: {}.", userId);
         Pageable pageable = PageRequest.of(from / size, size);
-        return eventRepository.findAllByInitiatorId(userId, pageable).stream()
-                .map(utils::convertEventToShortDto)
-                .collect(Collectors.toList());
+        return utils.convertEventsToShortDto(eventRepository.findAllByInitiatorId(userId, pageable));
     }
 
     @Override
     @Transactional
-    public EventFullDto privateGetEventById(long userId, long eventId) {
+    public EventFullDto privateGetEventById(long userId, long eventId, boolean withComments) {
         log.info("Sending to repository request to get event with id {} by user {}.", eventId, userId);
         return utils.convertEventToFullDto(eventRepository.findByIdAndInitiatorId(eventId, userId)
-                .orElseThrow(() -> new NotFoundException("Event with id " + eventId + " from user " + userId + " does not present in repository.")));
+                .orElseThrow(() -> new NotFoundException("Event with id " + eventId + " from user " + userId + " does not present in repository.")),
+                withComments);
     }
 
     @Override
     @Transactional
     public List<EventShortDto> publicSearchEvents(PublicSearchEventParameters parameters) {
-        List<Event> events = eventRepository.findAll();
-        if (parameters.getText() != null && !parameters.getText().isBlank()) {
-            events = events.stream()
-                    .filter(event -> event.getDescription().toLowerCase().contains(parameters.getText().toLowerCase())
-                            || event.getAnnotation().toLowerCase().contains(parameters.getText().toLowerCase()))
-                    .collect(Collectors.toList());
-        }
-        if (parameters.getCategories() != null && !parameters.getCategories().isEmpty()) {
-            events = events.stream()
-                    .filter(event -> parameters.getCategories().contains(event.getCategory().getId()))
-                    .collect(Collectors.toList());
-        }
-        if (parameters.getPaid() != null) {
-            events = events.stream()
-                    .filter(event -> event.isPaid() == parameters.getPaid())
-                    .collect(Collectors.toList());
-        }
-        if (parameters.getOnlyAvailable() != null) {
-            events = events.stream()
-                    .filter(event -> event.getParticipantLimit() == 0 || event.getConfirmedRequests() < event.getParticipantLimit())
-                    .collect(Collectors.toList());
-        }
-        if (parameters.getRangeStart() != null) {
+        if (parameters.getRangeStart() != null && parameters.getRangeEnd() != null) {
             LocalDateTime start = LocalDateTime.parse(parameters.getRangeStart(), Mapper.formatter);
-            events = events.stream()
-                    .filter(event -> event.getEventDate().isAfter(start))
-                    .collect(Collectors.toList());
-            if (parameters.getRangeEnd() != null) {
-                LocalDateTime end = LocalDateTime.parse(parameters.getRangeEnd(), Mapper.formatter);
-                if (start.isAfter(end)) {
-                    throw new BadRequestException("End time can't be before start time.");
-                }
-                events = events.stream()
-                        .filter(event -> event.getEventDate().isBefore(end))
-                        .collect(Collectors.toList());
+            LocalDateTime end = LocalDateTime.parse(parameters.getRangeEnd(), Mapper.formatter);
+            if (start.isAfter(end)) {
+                throw new BadRequestException("End time can't be before start time.");
             }
         }
-
-        return formResultForPublicEventSearch(events, parameters);
+        if (parameters.getLat() != null || parameters.getLon() != null || parameters.getRadius() != null) {
+            if (parameters.getLat() == null || parameters.getLon() == null || parameters.getRadius() == null) {
+                throw new BadRequestException("Location search requires lat, lon and radius.");
+            }
+            if (Math.abs(parameters.getLat()) > 90 || Math.abs(parameters.getLon()) > 180 || parameters.getRadius() <= 0) {
+                throw new BadRequestException("Location search parameters are out of range.");
+            }
+        }
+        PublicSearchEventSort sortType = PublicSearchEventSort.parseSearchSort(parameters.getSortType())
+                .orElseThrow(() -> new NotFoundException("Such sort type can not be used is search."));
+        log.info("Sending to repository request to search events by parameters.");
+        return formResultForPublicEventSearch(eventRepository.publicSearch(parameters, sortType));
     }
 
     @Override
@@ -330,42 +287,24 @@ public class EventServiceImpl implements EventService {
         return event;
     }
 
-    private List<EventFullDto> formResultForAdminEventSearch(List<Event> events, int from, int size) {
-        log.info("Repository answered {}, forming answer to controller.", events);
-        if (events.size() < from) {
-            log.info("Value 'from'({}) above result list size({}). Returning empty list.", from, events.size());
-            return new ArrayList<>();
-        }
-        events = events.subList(from, events.size());
-        if (events.size() > size) {
-            events = events.subList(0, size);
-        }
-        return events.stream()
-                .map(utils::convertEventToFullDto)
+    @Override
+    public List<EventSuggestionDto> publicSuggestEvents(String query, int size) {
+        log.info("Sending to title index request to suggest published events by prefix {}.", query);
+        return titleIndex.findByPrefix(query, size).entrySet().stream()
+                .map(title -> EventSuggestionDto.builder()
+                        .id(title.getKey())
+                        .title(title.getValue())
+                        .build())
                 .collect(Collectors.toList());
     }
 
-    private List<EventShortDto> formResultForPublicEventSearch(List<Event> events, PublicSearchEventParameters parameters) {
+    private List<EventFullDto> formResultForAdminEventSearch(List<Event> events, boolean withComments) {
         log.info("Repository answered {}, forming answer to controller.", events);
-        PublicSearchEventSort sortType = PublicSearchEventSort.parseSearchSort(parameters.getSortType())
-                .orElseThrow(() -> new NotFoundException("Such sort type can not be used is search."));
-        if (events.size() < parameters.getFrom()) {
-            log.info("Value 'from'({}) above result list size({}). Returning empty list.", parameters.getFrom(), events.size());
-            return new ArrayList<>();
-        }
-        events = events.subList(parameters.getFrom(), events.size());
-        if (events.size() > parameters.getSize()) {
-            events = events.subList(0, parameters.getSize());
-        }
-        if (sortType.equals(PublicSearchEventSort.EVENT_DATE)) {
-            return events.stream()
-                    .sorted(Comparator.comparing(Event::getEventDate))
-                    .map(utils::convertEventToShortDto)
-                    .collect(Collectors.toList());
-        }
-        return events.stream()
-                .map(utils::convertEventToShortDto)
-                .sorted(Comparator.comparing(EventShortDto::getViews))
-                .collect(Collectors.toList());
+        return utils.convertEventsToFullDto(events, withComments);
+    }
+
+    private List<EventShortDto> formResultForPublicEventSearch(List<Event> events) {
+        log.info("Repository answered {}, forming answer to controller.", events);
+        return utils.convertEventsToShortDto(events);
     }
 }
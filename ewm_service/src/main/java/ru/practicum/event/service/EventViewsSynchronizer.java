@@ -0,0 +1,99 @@
+package ru.practicum.event.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.practicum.event.dao.EventsViewsDB;
+import ru.practicum.event.model.EventsViewsChangedEvent;
+import ru.practicum.event.model.State;
+import ru.practicum.exception.model.StatisticUnavailableException;
+import ru.practicum.utils.EventViewsCache;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EventViewsSynchronizer {
+    private final EventsViewsDB eventsViewsRepository;
+    private final EventViewsCache viewsCache;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${events.views-sync.batch-size}")
+    private int batchSize;
+    @Value("${events.views-sync.overlap-seconds}")
+    private long overlapSeconds;
+
+    private LocalDateTime synchronizedUntil;
+
+    @Scheduled(fixedDelayString = "${events.views-sync.interval-ms}")
+    public void synchronize() {
+        LocalDateTime synchronizationStart = LocalDateTime.now();
+        // the watermark only moves when every batch was saved, so failed events are retried on the next run
+        boolean completed = synchronizedUntil == null
+                ? synchronizeAll()
+                : synchronizeViewedSince(synchronizedUntil.minusSeconds(overlapSeconds), synchronizationStart);
+        if (completed) {
+            synchronizedUntil = synchronizationStart;
+        }
+    }
+
+    private boolean synchronizeAll() {
+        long afterId = 0;
+        int synchronizedCount = 0;
+        boolean completed = true;
+        List<Long> eventsIds = eventsViewsRepository.getEventsIdsAfter(State.PUBLISHED, afterId, batchSize);
+        while (!eventsIds.isEmpty()) {
+            if (synchronizeBatch(eventsIds)) {
+                synchronizedCount += eventsIds.size();
+            } else {
+                completed = false;
+            }
+            afterId = eventsIds.get(eventsIds.size() - 1);
+            eventsIds = eventsViewsRepository.getEventsIdsAfter(State.PUBLISHED, afterId, batchSize);
+        }
+        log.debug("Synchronized views of {} published events.", synchronizedCount);
+        return completed;
+    }
+
+    private boolean synchronizeViewedSince(LocalDateTime start, LocalDateTime end) {
+        Set<Long> viewedIds;
+        try {
+            viewedIds = viewsCache.getViewedEventIds(start, end);
+        } catch (StatisticUnavailableException e) {
+            log.warn("Skipped views synchronization of events viewed since {}: {}", start, e.getMessage());
+            return false;
+        }
+        List<Long> eventsIds = eventsViewsRepository.getEventsIds(State.PUBLISHED, viewedIds);
+        int synchronizedCount = 0;
+        boolean completed = true;
+        for (int from = 0; from < eventsIds.size(); from += batchSize) {
+            List<Long> batch = eventsIds.subList(from, Math.min(from + batchSize, eventsIds.size()));
+            if (synchronizeBatch(batch)) {
+                synchronizedCount += batch.size();
+            } else {
+                completed = false;
+            }
+        }
+        log.debug("Synchronized views of {} published events viewed since {}.", synchronizedCount, start);
+        return completed;
+    }
+
+    private boolean synchronizeBatch(List<Long> eventsIds) {
+        try {
+            Map<Long, Long> viewsByEventId = viewsCache.refreshAll(eventsIds);
+            eventsViewsRepository.saveEventsViews(viewsByEventId);
+            eventPublisher.publishEvent(new EventsViewsChangedEvent(viewsByEventId));
+            return true;
+        } catch (StatisticUnavailableException e) {
+            log.warn("Skipped views synchronization of {} events from id {}: {}", eventsIds.size(), eventsIds.get(0), e.getMessage());
+            return false;
+        }
+    }
+}
@@ -11,6 +11,8 @@ import ru.practicum.exception.model.ConflictRequestException;
 import ru.practicum.exception.model.NotFoundException;
 import ru.practicum.utils.Mapper;
 
+import javax.validation.ConstraintViolation;
+import javax.validation.ConstraintViolationException;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -68,4 +70,21 @@ public class ErrorHandler {
                 .status(HttpStatus.BAD_REQUEST.toString())
                 .build();
     }
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ApiError errorResponseIncorrectRequest(ConstraintViolationException e) {
+        log.debug("Returning {} answer with message: {}", "BAD_REQUEST", e.getMessage());
+        List<String> errors = new ArrayList<>();
+        for (ConstraintViolation<?> violation : e.getConstraintViolations()) {
+            errors.add(violation.getPropertyPath() + ": " + violation.getMessage());
+        }
+        return ApiError.builder()
+                .errors(errors)
+                .message(e.getMessage())
+                .reason("Incorrectly made request.")
+                .timestamp(LocalDateTime.now().format(Mapper.formatter))
+                .status(HttpStatus.BAD_REQUEST.toString())
+                .build();
+    }
 }
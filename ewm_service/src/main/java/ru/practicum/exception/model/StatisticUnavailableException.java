@@ -0,0 +1,11 @@
+package ru.practicum.exception.model;
+
+public class StatisticUnavailableException extends RuntimeException {
+    public StatisticUnavailableException(String message) {
+        super(message);
+    }
+
+    public StatisticUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
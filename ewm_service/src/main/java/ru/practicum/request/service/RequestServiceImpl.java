@@ -2,9 +2,11 @@ package ru.practicum.request.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import ru.practicum.event.dao.EventRepository;
 import ru.practicum.event.model.Event;
+import ru.practicum.event.model.EventChangedEvent;
 import ru.practicum.event.model.State;
 import ru.practicum.exception.model.ConflictRequestException;
 import ru.practicum.exception.model.NotFoundException;
@@ -30,6 +32,7 @@ public class RequestServiceImpl implements RequestService {
     private final UserRepository userRepository;
     private final EventRepository eventRepository;
     private final RequestRepository requestRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
@@ -49,10 +52,13 @@ public class RequestServiceImpl implements RequestService {
             request.setStatus(Status.CONFIRMED);
             isUpdateConformingRequestsRequire = true;
         }
+        if (isUpdateConformingRequestsRequire) {
+            updateConfirmedRequests(request.getEvent(), 1);
+        }
         log.info("Sending to repository request to add new request for event {} from user {}.", eventId, userId);
         ParticipationRequestDto returningDto = Mapper.createParticipationRequestDto(requestRepository.save(request));
         if (isUpdateConformingRequestsRequire) {
-            updateConfirmedRequests(request.getEvent(), 1);
+            rejectPendingRequestsIfLimitReached(request.getEvent());
         }
         return returningDto;
     }
@@ -77,14 +83,16 @@ public class RequestServiceImpl implements RequestService {
             }
             requests.add(request);
         }
-        if (eventRequestStatusUpdateRequest.getStatus().equals(Status.CONFIRMED) && ((event.getParticipantLimit() - event.getConfirmedRequests()) < requests.size())) {
-            throw new ConflictRequestException("Event limit for participants exceeded.");
+        if (eventRequestStatusUpdateRequest.getStatus().equals(Status.CONFIRMED)) {
+            updateConfirmedRequests(event, requests.size());
         }
         log.info("Sending to repository request to set event status {} for users {}.", eventRequestStatusUpdateRequest.getStatus(), eventRequestStatusUpdateRequest.getRequestIds());
         requestRepository.saveAll(requests);
         EventRequestStatusUpdateResult requestStatusUpdateResult = createRequestsResultDto(requestRepository.findAllByEventId(eventId));
 
-        updateConfirmedRequests(event, requestStatusUpdateResult.getConfirmedRequests().size());
+        if (eventRequestStatusUpdateRequest.getStatus().equals(Status.CONFIRMED)) {
+            rejectPendingRequestsIfLimitReached(event);
+        }
 
         return requestStatusUpdateResult;
     }
@@ -142,11 +150,15 @@ public class RequestServiceImpl implements RequestService {
     }
 
     private void updateConfirmedRequests(Event event, int amountToAdd) {
-        event.setConfirmedRequests(amountToAdd);
-        log.info("Sending to repository request to update confirmed requests for event {}.", event.getId());
-        eventRepository.save(event);
+        log.info("Sending to repository request to add {} confirmed requests for event {}.", amountToAdd, event.getId());
+        if (eventRepository.addConfirmedRequests(event.getId(), amountToAdd) == 0) {
+            throw new ConflictRequestException("Event limit for participants exceeded.");
+        }
+        eventPublisher.publishEvent(new EventChangedEvent(event.getId()));
+    }
 
-        if (event.getParticipantLimit() == event.getConfirmedRequests()) {
+    private void rejectPendingRequestsIfLimitReached(Event event) {
+        if (event.getParticipantLimit() != 0 && event.getParticipantLimit() <= eventRepository.findConfirmedRequestsById(event.getId())) {
             List<Request> otherEventRequests = requestRepository.findAllByEventIdAndStatus(event.getId(), Status.PENDING);
             if (otherEventRequests == null || otherEventRequests.isEmpty()) {
                 return;
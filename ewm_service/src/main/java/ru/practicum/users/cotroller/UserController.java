@@ -3,7 +3,11 @@ package ru.practicum.users.cotroller;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.users.model.dto.UserDto;
 import ru.practicum.users.service.UserService;
 
@@ -13,6 +17,7 @@ import java.util.List;
 
 @RestController
 @RequiredArgsConstructor
+@Validated
 @Slf4j
 public class UserController {
     private final UserService userService;
@@ -24,18 +29,39 @@ public class UserController {
         return userService.addUser(userDto);
     }
 
+    @PostMapping("/admin/users/import")
+    @ResponseStatus(code = HttpStatus.CREATED)
+    public List<UserDto> importUsers(@RequestBody List<@Valid UserDto> userDtoList) {
+        log.info("Received request to import {} users.", userDtoList.size());
+        return userService.importUsers(userDtoList);
+    }
+
     @GetMapping("/admin/users")
     @ResponseStatus(code = HttpStatus.OK)
     public List<UserDto> getUsers(@RequestParam(required = false) List<Long> ids,
                                   @RequestParam(defaultValue = "0") int from,
+                                  @RequestParam(required = false) Long afterId,
                                   @RequestParam(defaultValue = "10") int size) {
         if (ids == null) {
             ids = new ArrayList<>();
         }
+        if (afterId != null) {
+            log.info("Received request to get users list after user {}, size {}.", afterId, size);
+            return userService.getUsersListAfter(ids, afterId, size);
+        }
         log.info("Received request to get users list from {}, size {}.", from, size);
         return userService.getUsersList(ids, from, size);
     }
 
+    @GetMapping(value = "/admin/users/export", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportUsers() {
+        log.info("Received request to export all users.");
+        // a streamed body is written without message converters, so its content type has to be set here
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(userService::exportUsers);
+    }
+
     @DeleteMapping("/admin/users/{userId}")
     @ResponseStatus(code = HttpStatus.NO_CONTENT)
     public void deleteUser(@PathVariable(value = "userId") long userId) {
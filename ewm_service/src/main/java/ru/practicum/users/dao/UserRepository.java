@@ -1,13 +1,27 @@
 package ru.practicum.users.dao;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import ru.practicum.users.model.User;
 
+import javax.persistence.QueryHint;
 import java.util.List;
-import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 public interface UserRepository extends JpaRepository<User, Long> {
-    List<User> findByIdIn(List<Long> ids);
+    List<User> findAllBy(Pageable page);
+
+    List<User> findByIdIn(List<Long> ids, Pageable page);
+
+    List<User> findAllByIdGreaterThan(long afterId, Pageable page);
+
+    List<User> findByIdInAndIdGreaterThan(List<Long> ids, long afterId, Pageable page);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    Stream<User> streamAllByOrderByIdAsc();
 
-    Optional<User> findByEmail(String email);
+    List<User> findByEmailInOrderByIdAsc(List<String> emails);
 }
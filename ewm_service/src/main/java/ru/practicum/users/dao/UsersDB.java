@@ -0,0 +1,25 @@
+package ru.practicum.users.dao;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import ru.practicum.users.model.User;
+
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class UsersDB {
+    private static final int BATCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void saveUsers(List<User> users) {
+        final String sqlQuery = "INSERT INTO users (name, email) " +
+                "values (?, ?)";
+        jdbcTemplate.batchUpdate(sqlQuery, users, BATCH_SIZE, (stmt, user) -> {
+            stmt.setString(1, user.getName());
+            stmt.setString(2, user.getEmail());
+        });
+    }
+}
@@ -2,12 +2,20 @@ package ru.practicum.users.service;
 
 import ru.practicum.users.model.dto.UserDto;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 
 public interface UserService {
     UserDto addUser(UserDto userDto);
 
+    List<UserDto> importUsers(List<UserDto> userDtoList);
+
     List<UserDto> getUsersList(List<Long> ids, int from, int size);
 
+    List<UserDto> getUsersListAfter(List<Long> ids, long afterId, int size);
+
+    void exportUsers(OutputStream outputStream) throws IOException;
+
     void deleteUser(long id);
 }
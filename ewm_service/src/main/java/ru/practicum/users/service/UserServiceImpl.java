@@ -1,69 +1,138 @@
 package ru.practicum.users.service;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import ru.practicum.event.dao.EventRepository;
+import ru.practicum.event.model.EventChangedEvent;
 import ru.practicum.exception.model.ConflictRequestException;
 import ru.practicum.utils.Mapper;
+import ru.practicum.utils.OffsetPageRequest;
 import ru.practicum.users.dao.UserRepository;
+import ru.practicum.users.dao.UsersDB;
 import ru.practicum.users.model.User;
 import ru.practicum.users.model.dto.UserDto;
 
+import javax.persistence.EntityManager;
 import javax.transaction.Transactional;
-import java.util.ArrayList;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class UserServiceImpl implements UserService {
+    private static final String EMAIL_INDEX = "users_email_idx";
+
     private final UserRepository userRepository;
+    private final UsersDB usersRepository;
+    private final EventRepository eventRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
 
     @Override
     @Transactional
     public UserDto addUser(UserDto userDto) {
-        if (userRepository.findByEmail(userDto.getEmail()).isPresent()) {
-            throw new ConflictRequestException("User with this email already present in repository.");
-        }
         log.info("Sending to repository request to add new user. name: {}. email: {}.", userDto.getName(), userDto.getEmail());
-        User user = userRepository.save(Mapper.convertUserFromDto(userDto));
-        return Mapper.convertUserToDto(user);
+        try {
+            User user = userRepository.saveAndFlush(Mapper.convertUserFromDto(userDto));
+            return Mapper.convertUserToDto(user);
+        } catch (DataIntegrityViolationException e) {
+            if (isEmailConflict(e)) {
+                throw new ConflictRequestException("User with this email already present in repository.");
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    @Transactional
+    public List<UserDto> importUsers(List<UserDto> userDtoList) {
+        log.info("Sending to repository request to import {} users.", userDtoList.size());
+        try {
+            usersRepository.saveUsers(userDtoList.stream()
+                    .map(Mapper::convertUserFromDto)
+                    .collect(Collectors.toList()));
+        } catch (DataIntegrityViolationException e) {
+            if (isEmailConflict(e)) {
+                throw new ConflictRequestException("Some of imported users emails already present in repository.");
+            }
+            throw e;
+        }
+        return formResultForUserListRequest(userRepository.findByEmailInOrderByIdAsc(userDtoList.stream()
+                .map(UserDto::getEmail)
+                .collect(Collectors.toList())));
     }
 
     @Override
     @Transactional
     public List<UserDto> getUsersList(List<Long> ids, int from, int size) {
         log.info("Sending to repository request to get user list. ids: {}", ids);
+        Pageable pageable = new OffsetPageRequest(from, size, Sort.by("id"));
+        if (ids.isEmpty()) {
+            return formResultForUserListRequest(userRepository.findAllBy(pageable));
+        }
+        return formResultForUserListRequest(userRepository.findByIdIn(ids, pageable));
+    }
+
+    @Override
+    @Transactional
+    public List<UserDto> getUsersListAfter(List<Long> ids, long afterId, int size) {
+        log.info("Sending to repository request to get user list after user {}. ids: {}", afterId, ids);
+        Pageable pageable = PageRequest.of(0, size, Sort.by("id"));
         if (ids.isEmpty()) {
-            return formResultForUserListRequest(userRepository.findAll(), from, size);
+            return formResultForUserListRequest(userRepository.findAllByIdGreaterThan(afterId, pageable));
+        }
+        return formResultForUserListRequest(userRepository.findByIdInAndIdGreaterThan(ids, afterId, pageable));
+    }
 
+    @Override
+    @Transactional
+    public void exportUsers(OutputStream outputStream) throws IOException {
+        log.info("Sending to repository request to stream all users.");
+        try (Stream<User> users = userRepository.streamAllByOrderByIdAsc();
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+            generator.writeStartArray();
+            Iterator<User> iterator = users.iterator();
+            while (iterator.hasNext()) {
+                User user = iterator.next();
+                generator.writeObject(Mapper.convertUserToDto(user));
+                entityManager.detach(user);
+            }
+            generator.writeEndArray();
         }
-        return formResultForUserListRequest(userRepository.findByIdIn(ids), from, size);
     }
 
     @Override
     @Transactional
     public void deleteUser(long id) {
-        log.info("Sending to repository request to delete user with id {}.", id);
+        List<Long> eventsIds = eventRepository.findIdsByInitiatorId(id);
+        log.info("Sending to repository request to delete user with id {} and {} own events.", id, eventsIds.size());
         userRepository.deleteById(id);
+        eventsIds.forEach(eventId -> eventPublisher.publishEvent(new EventChangedEvent(eventId)));
     }
 
-    private List<UserDto> formResultForUserListRequest(List<User> userList, int from, int size) {
-        log.info("Repository answered {}, forming answer to controller.", userList);
-        if (userList.size() < from) {
-            log.info("Value 'from'({}) above result list size({}). Returning empty list.", from, userList.size());
-            return new ArrayList<>();
-        }
-        userList = userList.subList(from, userList.size());
-        if (userList.size() <= size) {
-            return userList.stream()
-                    .map(Mapper::convertUserToDto)
-                    .collect(Collectors.toList());
-        } else {
-            return userList.subList(0, size).stream()
-                    .map(Mapper::convertUserToDto)
-                    .collect(Collectors.toList());
-        }
+    private List<UserDto> formResultForUserListRequest(List<User> userList) {
+        log.info("Repository answered {} users, forming answer to controller.", userList.size());
+        return userList.stream()
+                .map(Mapper::convertUserToDto)
+                .collect(Collectors.toList());
+    }
+
+    private boolean isEmailConflict(DataIntegrityViolationException e) {
+        String message = e.getMostSpecificCause().getMessage();
+        return message != null && message.toLowerCase().contains(EMAIL_INDEX);
     }
 }
@@ -0,0 +1,168 @@
+package ru.practicum.utils;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+import ru.practicum.client.StatisticClient;
+import ru.practicum.dto.StatisticAnswerDto;
+import ru.practicum.exception.model.StatisticUnavailableException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+@Component
+@Slf4j
+public class EventViewsCache {
+    private static final Pattern EVENT_URI = Pattern.compile("/events/(\\d{1,18})");
+
+    private final StatisticClient statisticClient;
+    private final ObjectMapper objectMapper;
+    private final LoadingCache<Long, Long> views;
+
+    public EventViewsCache(StatisticClient statisticClient, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                           @Value("${statistic_server.views-cache.maximum-size:10000}") long maximumSize,
+                           @Value("${statistic_server.views-cache.expire-after-write-seconds:60}") long expireAfterWriteSeconds,
+                           @Value("${statistic_server.views-cache.refresh-after-write-seconds:5}") long refreshAfterWriteSeconds) {
+        this.statisticClient = statisticClient;
+        this.objectMapper = objectMapper;
+        this.views = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(expireAfterWriteSeconds))
+                .refreshAfterWrite(Duration.ofSeconds(refreshAfterWriteSeconds))
+                .recordStats()
+                .build(new CacheLoader<>() {
+                    @Override
+                    public Long load(Long eventId) {
+                        return loadViews(eventId);
+                    }
+
+                    @Override
+                    public Map<Long, Long> loadAll(Iterable<? extends Long> eventIds) {
+                        return loadViews(eventIds);
+                    }
+                });
+        CaffeineCacheMetrics.monitor(meterRegistry, views, "eventViews");
+    }
+
+    public long get(long eventId) {
+        try {
+            return views.get(eventId);
+        } catch (StatisticUnavailableException e) {
+            log.warn("Views of event {} are not available: {}", eventId, e.getMessage());
+            Long cachedViews = views.getIfPresent(eventId);
+            return cachedViews == null ? 0L : cachedViews;
+        }
+    }
+
+    public Map<Long, Long> getAll(Collection<Long> eventIds) {
+        try {
+            return views.getAll(eventIds);
+        } catch (StatisticUnavailableException e) {
+            log.warn("Views of {} events are not available: {}", eventIds.size(), e.getMessage());
+            Map<Long, Long> viewsByEventId = new HashMap<>(views.getAllPresent(eventIds));
+            for (Long eventId : eventIds) {
+                viewsByEventId.putIfAbsent(eventId, 0L);
+            }
+            return viewsByEventId;
+        }
+    }
+
+    public Map<Long, Long> refreshAll(Collection<Long> eventIds) {
+        Map<Long, Long> viewsByEventId = loadViews(eventIds);
+        views.putAll(viewsByEventId);
+        return viewsByEventId;
+    }
+
+    public Set<Long> getViewedEventIds(LocalDateTime start, LocalDateTime end) {
+        ResponseEntity<Object> statisticAnswer = requestStatistic(() ->
+                statisticClient.getExactStatistic(start.format(Mapper.formatter), end.format(Mapper.formatter)));
+        try {
+            List<StatisticAnswerDto> result = objectMapper.convertValue(statisticAnswer.getBody(), new TypeReference<>() {
+            });
+            Set<Long> eventIds = new HashSet<>();
+            if (result == null) {
+                return eventIds;
+            }
+            for (StatisticAnswerDto answer : result) {
+                Matcher eventUri = EVENT_URI.matcher(answer.getUri());
+                if (eventUri.matches()) {
+                    eventIds.add(Long.parseLong(eventUri.group(1)));
+                }
+            }
+            return eventIds;
+        } catch (IllegalArgumentException e) {
+            throw new StatisticUnavailableException("Incorrect statistic server answer: " + e.getMessage(), e);
+        }
+    }
+
+    private long loadViews(long eventId) {
+        ResponseEntity<Object> statisticAnswer = requestStatistic(() -> statisticClient.getUniqueStatisticByEventId(eventId));
+        try {
+            StatisticAnswerDto result = objectMapper.convertValue(statisticAnswer.getBody(), StatisticAnswerDto.class);
+            return result == null ? 0L : result.getHits();
+        } catch (IllegalArgumentException e) {
+            throw new StatisticUnavailableException("Incorrect statistic server answer: " + e.getMessage(), e);
+        }
+    }
+
+    private Map<Long, Long> loadViews(Iterable<? extends Long> eventIds) {
+        Map<Long, Long> viewsByEventId = new HashMap<>();
+        Map<String, Long> eventIdsByUri = new HashMap<>();
+        for (Long eventId : eventIds) {
+            viewsByEventId.put(eventId, 0L);
+            eventIdsByUri.put("/events/" + eventId, eventId);
+        }
+        if (eventIdsByUri.isEmpty()) {
+            return viewsByEventId;
+        }
+        ResponseEntity<Object> statisticAnswer = requestStatistic(() ->
+                statisticClient.getUniqueStatisticByEndpoints(List.copyOf(eventIdsByUri.keySet())));
+        try {
+            List<StatisticAnswerDto> result = objectMapper.convertValue(statisticAnswer.getBody(), new TypeReference<>() {
+            });
+            if (result == null) {
+                return viewsByEventId;
+            }
+            for (StatisticAnswerDto answer : result) {
+                Long eventId = eventIdsByUri.get(answer.getUri());
+                if (eventId != null) {
+                    viewsByEventId.merge(eventId, (long) answer.getHits(), Long::sum);
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            throw new StatisticUnavailableException("Incorrect statistic server answer: " + e.getMessage(), e);
+        }
+        return viewsByEventId;
+    }
+
+    private ResponseEntity<Object> requestStatistic(Supplier<ResponseEntity<Object>> request) {
+        ResponseEntity<Object> statisticAnswer;
+        try {
+            statisticAnswer = request.get();
+        } catch (RestClientException e) {
+            throw new StatisticUnavailableException("Statistic server is not reachable: " + e.getMessage(), e);
+        }
+        if (!statisticAnswer.getStatusCode().is2xxSuccessful()) {
+            throw new StatisticUnavailableException("Statistic server answered with status " + statisticAnswer.getStatusCode());
+        }
+        return statisticAnswer;
+    }
+}
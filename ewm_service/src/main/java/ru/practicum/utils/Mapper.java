@@ -22,6 +22,7 @@ import ru.practicum.users.model.dto.UserShortDto;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 public class Mapper {
@@ -82,7 +83,15 @@ public class Mapper {
                 .build();
     }
 
-    public static EventFullDto convertEventToFullDto(Event event, List<Comment> comments, List<CommentReply> replies, long views) {
+    public static EventFullDto convertEventToFullDto(Event event, long commentsCount, List<Comment> comments,
+                                                     List<CommentReply> replies, long views) {
+        EventFullDto eventFullDto = convertEventToFullDto(event, views);
+        eventFullDto.setCommentsCount(commentsCount);
+        eventFullDto.setComments(convertCommentsToDto(comments, replies));
+        return eventFullDto;
+    }
+
+    public static EventFullDto convertEventToFullDto(Event event, long views) {
         return EventFullDto.builder()
                 .id(event.getId())
                 .annotation(event.getAnnotation())
@@ -99,11 +108,6 @@ public class Mapper {
                 .confirmedRequests(event.getConfirmedRequests())
                 .requestModeration(event.isRequestModeration())
                 .state(event.getState())
-                .comments(comments.stream()
-                        .map(comment -> Mapper.convertCommentToDto(comment, replies.stream()
-                                .filter(reply -> reply.getComment().getId() == comment.getId())
-                                .collect(Collectors.toList())))
-                        .collect(Collectors.toList()))
                 .views(views)
                 .build();
     }
@@ -167,6 +171,14 @@ public class Mapper {
                 .build();
     }
 
+    public static List<CommentDto> convertCommentsToDto(List<Comment> comments, List<CommentReply> replies) {
+        Map<Long, List<CommentReply>> repliesByCommentId = replies.stream()
+                .collect(Collectors.groupingBy(reply -> reply.getComment().getId()));
+        return comments.stream()
+                .map(comment -> convertCommentToDto(comment, repliesByCommentId.getOrDefault(comment.getId(), List.of())))
+                .collect(Collectors.toList());
+    }
+
     public static CommentReply createCommentReply(User commentator, Comment comment, CommentReplyDto commentReplyDto) {
         return CommentReply.builder()
                 .commentator(commentator)
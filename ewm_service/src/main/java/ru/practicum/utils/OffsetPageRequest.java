@@ -0,0 +1,20 @@
+package ru.practicum.utils;
+
+import lombok.EqualsAndHashCode;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+@EqualsAndHashCode(callSuper = true)
+public class OffsetPageRequest extends PageRequest {
+    private final long offset;
+
+    public OffsetPageRequest(long offset, int size, Sort sort) {
+        super((int) (offset / size), size, sort);
+        this.offset = offset;
+    }
+
+    @Override
+    public long getOffset() {
+        return offset;
+    }
+}
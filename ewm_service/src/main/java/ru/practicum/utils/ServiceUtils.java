@@ -1,49 +1,103 @@
 package ru.practicum.utils;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import lombok.AllArgsConstructor;
-import org.springframework.http.ResponseEntity;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Component;
-import ru.practicum.client.StatisticClient;
 import ru.practicum.comment.dao.CommentReplyRepository;
 import ru.practicum.comment.dao.CommentRepository;
 import ru.practicum.comment.model.Comment;
 import ru.practicum.comment.model.CommentReply;
-import ru.practicum.dto.StatisticAnswerDto;
+import ru.practicum.comment.model.EventCommentsCount;
 import ru.practicum.event.model.Event;
 import ru.practicum.event.model.dto.EventFullDto;
 import ru.practicum.event.model.dto.EventShortDto;
 
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Component
-@AllArgsConstructor
+@RequiredArgsConstructor
 public class ServiceUtils {
     private final CommentRepository commentRepository;
     private final CommentReplyRepository commentReplyRepository;
-    private final StatisticClient statisticClient;
-    private final ObjectMapper objectMapper;
+    private final EventViewsCache viewsCache;
+
+    @Value("${comments.preview-size:10}")
+    private int commentsPreviewSize;
 
     public EventFullDto convertEventToFullDto(Event event) {
-        List<Comment> comments = commentRepository.findAllByEventId(event.getId());
-        List<CommentReply> replies = commentReplyRepository.findAllByCommentIdInOrderByIdAsc(comments.stream()
-                .map(Comment::getId)
-                .collect(Collectors.toList()));
-        return Mapper.convertEventToFullDto(event, comments, replies, getUniqueViews(event.getId()));
+        return convertEventToFullDto(event, true);
+    }
+
+    public EventFullDto convertEventToFullDto(Event event, boolean withComments) {
+        return convertEventToFullDto(event, viewsCache.get(event.getId()), withComments);
+    }
+
+    public List<EventFullDto> convertEventsToFullDto(List<Event> events, boolean withComments) {
+        Map<Long, Long> views = getUniqueViews(events);
+        if (!withComments || events.isEmpty()) {
+            return events.stream()
+                    .map(event -> Mapper.convertEventToFullDto(event, views.getOrDefault(event.getId(), 0L)))
+                    .collect(Collectors.toList());
+        }
+        Map<Long, Long> commentsCounts = commentRepository.countByEventIdIn(events.stream()
+                        .map(Event::getId)
+                        .collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(EventCommentsCount::getEventId, EventCommentsCount::getCommentsCount));
+        List<Comment> previews = commentsCounts.isEmpty()
+                ? List.of()
+                : commentRepository.findPreviewsByEventIdIn(commentsCounts.keySet(), commentsPreviewSize);
+        Map<Long, Long> eventsIdsByCommentId = previews.stream()
+                .collect(Collectors.toMap(Comment::getId, comment -> comment.getEvent().getId()));
+        Map<Long, List<Comment>> previewsByEventId = previews.stream()
+                .collect(Collectors.groupingBy(comment -> comment.getEvent().getId()));
+        List<CommentReply> replies = previews.isEmpty()
+                ? List.of()
+                : commentReplyRepository.findAllByCommentIdInOrderByIdAsc(List.copyOf(eventsIdsByCommentId.keySet()));
+        Map<Long, List<CommentReply>> repliesByEventId = replies.stream()
+                .collect(Collectors.groupingBy(reply -> eventsIdsByCommentId.get(reply.getComment().getId())));
+        return events.stream()
+                .map(event -> Mapper.convertEventToFullDto(event,
+                        commentsCounts.getOrDefault(event.getId(), 0L),
+                        previewsByEventId.getOrDefault(event.getId(), List.of()),
+                        repliesByEventId.getOrDefault(event.getId(), List.of()),
+                        views.getOrDefault(event.getId(), 0L)))
+                .collect(Collectors.toList());
     }
 
     public EventShortDto convertEventToShortDto(Event event) {
-        return Mapper.convertEventToShortDto(event, getUniqueViews(event.getId()));
+        return Mapper.convertEventToShortDto(event, viewsCache.get(event.getId()));
     }
 
-    private long getUniqueViews(long eventId) {
-        ResponseEntity<Object> statisticAnswer = statisticClient.getUniqueStatisticByEventId(eventId);
-        try {
-            StatisticAnswerDto result = objectMapper.convertValue(statisticAnswer.getBody(), StatisticAnswerDto.class);
-            return result.getHits();
-        } catch (IllegalArgumentException e) {
-            return 0L;
+    public List<EventShortDto> convertEventsToShortDto(List<Event> events) {
+        Map<Long, Long> views = getUniqueViews(events);
+        return events.stream()
+                .map(event -> Mapper.convertEventToShortDto(event, views.getOrDefault(event.getId(), 0L)))
+                .collect(Collectors.toList());
+    }
+
+    private EventFullDto convertEventToFullDto(Event event, long views, boolean withComments) {
+        if (!withComments) {
+            return Mapper.convertEventToFullDto(event, views);
         }
+        long commentsCount = commentRepository.countByEventId(event.getId());
+        if (commentsCount == 0) {
+            return Mapper.convertEventToFullDto(event, commentsCount, List.of(), List.of(), views);
+        }
+        List<Comment> comments = commentRepository.findAllByEventIdAndIdGreaterThanOrderByIdAsc(event.getId(), 0,
+                PageRequest.of(0, commentsPreviewSize));
+        List<CommentReply> replies = commentReplyRepository.findAllByCommentIdInOrderByIdAsc(comments.stream()
+                .map(Comment::getId)
+                .collect(Collectors.toList()));
+        return Mapper.convertEventToFullDto(event, commentsCount, comments, replies, views);
+    }
+
+    private Map<Long, Long> getUniqueViews(List<Event> events) {
+        return viewsCache.getAll(events.stream()
+                .map(Event::getId)
+                .collect(Collectors.toSet()));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,5 @@
+ALTER TABLE events ADD COLUMN IF NOT EXISTS search_vector tsvector GENERATED ALWAYS AS (
+    setweight(to_tsvector('simple', coalesce(title, '')), 'A') ||
+    setweight(to_tsvector('simple', coalesce(annotation, '')), 'B') ||
+    setweight(to_tsvector('simple', coalesce(description, '')), 'C')) STORED;
+CREATE INDEX IF NOT EXISTS events_search_vector_idx ON events USING GIN (search_vector);
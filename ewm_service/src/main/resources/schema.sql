@@ -1,11 +1,11 @@
 DROP TABLE IF EXISTS categories CASCADE;
 DROP TABLE IF EXISTS users CASCADE;
-DROP TABLE IF EXISTS events;
-DROP TABLE IF EXISTS requests;
-DROP TABLE IF EXISTS compilations;
-DROP TABLE IF EXISTS compilations_events;
-DROP TABLE IF EXISTS comments;
-DROP TABLE IF EXISTS comments_reply;
+DROP TABLE IF EXISTS events CASCADE;
+DROP TABLE IF EXISTS requests CASCADE;
+DROP TABLE IF EXISTS compilations CASCADE;
+DROP TABLE IF EXISTS compilations_events CASCADE;
+DROP TABLE IF EXISTS comments CASCADE;
+DROP TABLE IF EXISTS comments_reply CASCADE;
 
 CREATE TABLE IF NOT EXISTS categories
 (
@@ -18,6 +18,7 @@ CREATE TABLE IF NOT EXISTS users
     name varchar(250) not null,
     email varchar(254) not null
 );
+CREATE UNIQUE INDEX IF NOT EXISTS users_email_idx ON users (email);
 CREATE TABLE IF NOT EXISTS events
 (
     id integer generated by default as identity primary key,
@@ -35,8 +36,15 @@ CREATE TABLE IF NOT EXISTS events
     paid bool,
     request_moderation bool,
     confirmed_requests integer,
-    state_condition varchar(20)
+    state_condition varchar(20),
+    views bigint default 0 not null
 );
+CREATE INDEX IF NOT EXISTS events_event_date_idx ON events (event_date);
+CREATE INDEX IF NOT EXISTS events_initiator_id_idx ON events (initiator_id);
+CREATE INDEX IF NOT EXISTS events_category_id_idx ON events (category_id);
+CREATE INDEX IF NOT EXISTS events_state_event_date_idx ON events (state_condition, event_date);
+CREATE INDEX IF NOT EXISTS events_views_idx ON events (views DESC, id);
+CREATE INDEX IF NOT EXISTS events_location_idx ON events (latitude, longitude);
 CREATE TABLE IF NOT EXISTS requests
 (
     id integer generated by default as identity primary key,
@@ -45,6 +53,8 @@ CREATE TABLE IF NOT EXISTS requests
     created timestamp,
     status integer
 );
+CREATE INDEX IF NOT EXISTS requests_event_id_status_idx ON requests (event_id, status);
+CREATE INDEX IF NOT EXISTS requests_requester_id_event_id_idx ON requests (requester_id, event_id);
 CREATE TABLE IF NOT EXISTS compilations
 (
     id integer generated by default as identity primary key,
@@ -54,8 +64,10 @@ CREATE TABLE IF NOT EXISTS compilations
 CREATE TABLE IF NOT EXISTS compilations_events
 (
     compilation_id integer references compilations (id) on delete cascade,
-    event_id integer references events (id) on delete cascade
+    event_id integer references events (id) on delete cascade,
+    unique (compilation_id, event_id)
 );
+CREATE INDEX IF NOT EXISTS compilations_events_event_id_idx ON compilations_events (event_id);
 CREATE TABLE IF NOT EXISTS comments
 (
     id integer generated by default as identity primary key,
@@ -66,6 +78,8 @@ CREATE TABLE IF NOT EXISTS comments
     edited bool,
     edited_time timestamp
 );
+CREATE INDEX IF NOT EXISTS comments_event_id_idx ON comments (event_id, id);
+CREATE INDEX IF NOT EXISTS comments_commentator_id_idx ON comments (commentator_id);
 CREATE TABLE IF NOT EXISTS comments_reply
 (
     id integer generated by default as identity primary key,
@@ -75,4 +89,6 @@ CREATE TABLE IF NOT EXISTS comments_reply
     created timestamp,
     edited bool,
     edited_time timestamp
-);
\ No newline at end of file
+);
+CREATE INDEX IF NOT EXISTS comments_reply_comment_id_idx ON comments_reply (comment_id, id);
+CREATE INDEX IF NOT EXISTS comments_reply_commentator_id_idx ON comments_reply (commentator_id);
\ No newline at end of file
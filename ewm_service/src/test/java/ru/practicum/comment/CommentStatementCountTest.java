@@ -0,0 +1,126 @@
+package ru.practicum.comment;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.category.dao.CategoryRepository;
+import ru.practicum.category.model.Category;
+import ru.practicum.client.StatisticClient;
+import ru.practicum.comment.dao.CommentReplyRepository;
+import ru.practicum.comment.dao.CommentRepository;
+import ru.practicum.comment.model.Comment;
+import ru.practicum.comment.model.CommentReply;
+import ru.practicum.event.dao.EventRepository;
+import ru.practicum.event.model.Event;
+import ru.practicum.event.model.State;
+import ru.practicum.users.dao.UserRepository;
+import ru.practicum.users.model.User;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+class CommentStatementCountTest {
+    // event, comments with commentators, replies with commentators
+    private static final int COMMENTS_PAGE_BUDGET = 3;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private EventRepository eventRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+    @Autowired
+    private CommentReplyRepository commentReplyRepository;
+    @MockBean
+    private StatisticClient statisticClient;
+
+    private Event event;
+
+    @BeforeEach
+    void createComments() {
+        when(statisticClient.getUniqueStatisticByEndpoints(any())).thenReturn(ResponseEntity.ok(List.of()));
+        when(statisticClient.postAll(any())).thenReturn(ResponseEntity.ok().build());
+        jdbcTemplate.update("DELETE FROM events");
+        jdbcTemplate.update("DELETE FROM categories");
+        jdbcTemplate.update("DELETE FROM users");
+
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            users.add(userRepository.save(User.builder().name("user" + i).email("user" + i + "@mail.ru").build()));
+        }
+        event = eventRepository.save(Event.builder()
+                .title("Commented event")
+                .annotation("Annotation of commented event")
+                .description("Description of commented event")
+                .initiator(users.get(0))
+                .category(categoryRepository.save(Category.builder().name("category").build()))
+                .eventDate(LocalDateTime.now().plusDays(1))
+                .createdOn(LocalDateTime.now())
+                .publishedTime(LocalDateTime.now())
+                .state(State.PUBLISHED)
+                .build());
+        for (int i = 0; i < 40; i++) {
+            Comment comment = commentRepository.save(Comment.builder()
+                    .commentator(users.get(i % users.size()))
+                    .event(event)
+                    .text("Comment " + i)
+                    .timestamp(LocalDateTime.now())
+                    .build());
+            for (int j = 0; j < 3; j++) {
+                commentReplyRepository.save(CommentReply.builder()
+                        .commentator(users.get((i + j + 1) % users.size()))
+                        .comment(comment)
+                        .text("Reply " + i + "-" + j)
+                        .timestamp(LocalDateTime.now())
+                        .build());
+            }
+        }
+    }
+
+    @Test
+    void publicGetEventCommentsUsesConstantNumberOfStatements() throws Exception {
+        long smallPage = countStatements(5);
+        long largePage = countStatements(40);
+
+        assertTrue(smallPage <= COMMENTS_PAGE_BUDGET, "GET /events/{id}/comments used " + smallPage + " statements");
+        assertEquals(smallPage, largePage);
+    }
+
+    private long countStatements(int limit) throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        mockMvc.perform(get("/events/" + event.getId() + "/comments?limit=" + limit))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(limit))
+                .andExpect(jsonPath("$[0].replies.length()").value(3));
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,149 @@
+package ru.practicum.compilation;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.category.dao.CategoryRepository;
+import ru.practicum.category.model.Category;
+import ru.practicum.client.StatisticClient;
+import ru.practicum.compilation.model.dto.NewCompilationDto;
+import ru.practicum.compilation.service.CompilationPageCache;
+import ru.practicum.compilation.service.CompilationService;
+import ru.practicum.event.dao.EventRepository;
+import ru.practicum.event.model.Event;
+import ru.practicum.event.model.EventChangedEvent;
+import ru.practicum.event.model.State;
+import ru.practicum.users.dao.UserRepository;
+import ru.practicum.users.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.Matchers.contains;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class CompilationPageCacheTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private EventRepository eventRepository;
+    @Autowired
+    private CompilationService compilationService;
+    @Autowired
+    private CompilationPageCache pageCache;
+    @MockBean
+    private StatisticClient statisticClient;
+
+    private User deletedInitiator;
+    private Category category;
+    private long keptEventId;
+
+    @BeforeEach
+    void createCompilation() {
+        when(statisticClient.getUniqueStatisticByEndpoints(any())).thenReturn(ResponseEntity.ok(List.of()));
+        when(statisticClient.postAll(any())).thenReturn(ResponseEntity.ok().build());
+        jdbcTemplate.update("DELETE FROM compilations");
+        jdbcTemplate.update("DELETE FROM events");
+        jdbcTemplate.update("DELETE FROM categories");
+        jdbcTemplate.update("DELETE FROM users");
+
+        deletedInitiator = userRepository.save(User.builder().name("deleted").email("deleted@mail.ru").build());
+        User keptInitiator = userRepository.save(User.builder().name("kept").email("kept@mail.ru").build());
+        category = categoryRepository.save(Category.builder().name("category").build());
+        long deletedEventId = saveEvent(deletedInitiator);
+        keptEventId = saveEvent(keptInitiator);
+        compilationService.adminAddNewCompilation(NewCompilationDto.builder()
+                .title("Compilation")
+                .pinned(true)
+                .events(List.of(deletedEventId, keptEventId))
+                .build());
+    }
+
+    @Test
+    void deletingUserRemovesOwnEventsFromCachedPages() throws Exception {
+        mockMvc.perform(get("/compilations?pinned=true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].events.length()").value(2));
+
+        mockMvc.perform(delete("/admin/users/" + deletedInitiator.getId()))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/compilations?pinned=true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].events[*].id", contains((int) keptEventId)));
+    }
+
+    @Test
+    void updatingCategoryRemovesCachedPagesWithItsEvents() throws Exception {
+        mockMvc.perform(get("/compilations?pinned=true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].events[0].category.name").value("category"));
+
+        mockMvc.perform(patch("/admin/categories/" + category.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"renamed\"}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/compilations?pinned=true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].events[0].category.name").value("renamed"));
+    }
+
+    @Test
+    void pageLoadedAcrossInvalidationIsNotCached() {
+        AtomicInteger loads = new AtomicInteger();
+
+        pageCache.get(false, 1000, 10, () -> {
+            loads.incrementAndGet();
+            pageCache.onEventChanged(new EventChangedEvent(keptEventId));
+            return List.of();
+        });
+        pageCache.get(false, 1000, 10, () -> {
+            loads.incrementAndGet();
+            return List.of();
+        });
+        pageCache.get(false, 1000, 10, () -> {
+            loads.incrementAndGet();
+            return List.of();
+        });
+
+        assertEquals(2, loads.get());
+    }
+
+    private long saveEvent(User initiator) {
+        return eventRepository.save(Event.builder()
+                .title("Event of " + initiator.getName())
+                .annotation("Annotation of event")
+                .description("Description of event")
+                .initiator(initiator)
+                .category(category)
+                .eventDate(LocalDateTime.now().plusDays(1))
+                .createdOn(LocalDateTime.now())
+                .publishedTime(LocalDateTime.now())
+                .state(State.PUBLISHED)
+                .build()).getId();
+    }
+}
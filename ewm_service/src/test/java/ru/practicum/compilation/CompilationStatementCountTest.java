@@ -0,0 +1,115 @@
+package ru.practicum.compilation;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.category.dao.CategoryRepository;
+import ru.practicum.category.model.Category;
+import ru.practicum.client.StatisticClient;
+import ru.practicum.compilation.model.dto.NewCompilationDto;
+import ru.practicum.compilation.service.CompilationService;
+import ru.practicum.event.dao.EventRepository;
+import ru.practicum.event.model.Event;
+import ru.practicum.event.model.State;
+import ru.practicum.users.dao.UserRepository;
+import ru.practicum.users.model.User;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+class CompilationStatementCountTest {
+    // compilations page and their events, compilation links are read with one JDBC query outside Hibernate
+    private static final int COMPILATIONS_PAGE_BUDGET = 2;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private EventRepository eventRepository;
+    @Autowired
+    private CompilationService compilationService;
+    @MockBean
+    private StatisticClient statisticClient;
+
+    @BeforeEach
+    void createCompilations() {
+        when(statisticClient.getUniqueStatisticByEndpoints(any())).thenReturn(ResponseEntity.ok(List.of()));
+        when(statisticClient.postAll(any())).thenReturn(ResponseEntity.ok().build());
+        jdbcTemplate.update("DELETE FROM compilations");
+        jdbcTemplate.update("DELETE FROM events");
+        jdbcTemplate.update("DELETE FROM categories");
+        jdbcTemplate.update("DELETE FROM users");
+
+        List<Long> eventsIds = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            User user = userRepository.save(User.builder().name("user" + i).email("user" + i + "@mail.ru").build());
+            Category category = categoryRepository.save(Category.builder().name("category" + i).build());
+            for (int j = 0; j < 5; j++) {
+                eventsIds.add(eventRepository.save(Event.builder()
+                        .title("Event " + i + "-" + j)
+                        .annotation("Annotation of event " + i + "-" + j)
+                        .description("Description of event " + i + "-" + j)
+                        .initiator(user)
+                        .category(category)
+                        .eventDate(LocalDateTime.now().plusDays(i * 5 + j + 1))
+                        .createdOn(LocalDateTime.now())
+                        .publishedTime(LocalDateTime.now())
+                        .state(State.PUBLISHED)
+                        .build()).getId());
+            }
+        }
+        for (int i = 0; i < 12; i++) {
+            compilationService.adminAddNewCompilation(NewCompilationDto.builder()
+                    .title("Compilation " + i)
+                    .pinned(true)
+                    .events(eventsIds.subList(i, i + 6))
+                    .build());
+        }
+    }
+
+    @Test
+    void publicGetPinnedCompilationsStaysWithinStatementBudget() throws Exception {
+        long smallPage = countStatements("/compilations?pinned=true&size=2", 2);
+        long largePage = countStatements("/compilations?pinned=true&size=10", 10);
+
+        assertTrue(smallPage <= COMPILATIONS_PAGE_BUDGET, "GET /compilations used " + smallPage + " statements");
+        assertEquals(smallPage, largePage);
+    }
+
+    private long countStatements(String url, int expectedSize) throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(expectedSize))
+                .andExpect(jsonPath("$[0].events.length()").value(6));
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,150 @@
+package ru.practicum.event;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.category.dao.CategoryRepository;
+import ru.practicum.category.model.Category;
+import ru.practicum.client.StatisticClient;
+import ru.practicum.event.model.State;
+import ru.practicum.users.dao.UserRepository;
+import ru.practicum.users.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@Tag("benchmark")
+@SpringBootTest
+@AutoConfigureMockMvc
+class EventAdminSearchBenchmarkTest {
+    private static final int[] TABLE_SIZES = {10_000, 100_000, 400_000};
+    private static final int INSERT_BATCH_SIZE = 10_000;
+    private static final int USERS = 10;
+    private static final int CATEGORIES = 10;
+    private static final int WARMUP_REQUESTS = 500;
+    private static final int MEASURED_REQUESTS = 300;
+    private static final double ALLOWED_GROWTH = 3.0;
+    private static final long ALLOWED_GROWTH_NANOS = 2_000_000L;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @MockBean
+    private StatisticClient statisticClient;
+
+    private final List<Long> usersIds = new ArrayList<>();
+    private final List<Long> categoriesIds = new ArrayList<>();
+
+    @BeforeEach
+    void createUsers() {
+        when(statisticClient.getUniqueStatisticByEndpoints(any())).thenReturn(ResponseEntity.ok(List.of()));
+        when(statisticClient.getUniqueStatisticByEventId(anyLong()))
+                .thenReturn(ResponseEntity.ok(Map.of("app", "ewm", "uri", "/events", "hits", 0)));
+        jdbcTemplate.update("DELETE FROM events");
+        jdbcTemplate.update("DELETE FROM categories");
+        jdbcTemplate.update("DELETE FROM users");
+
+        usersIds.clear();
+        categoriesIds.clear();
+        for (int i = 0; i < USERS; i++) {
+            usersIds.add(userRepository.save(User.builder().name("user" + i).email("user" + i + "@mail.ru").build()).getId());
+        }
+        for (int i = 0; i < CATEGORIES; i++) {
+            categoriesIds.add(categoryRepository.save(Category.builder().name("category" + i).build()).getId());
+        }
+    }
+
+    @Test
+    void adminSearchLatencyStaysFlatAsEventsTableGrows() throws Exception {
+        Map<String, String> queries = new LinkedHashMap<>();
+        queries.put("first page", "/admin/events?withComments=false");
+        queries.put("state and category", "/admin/events?withComments=false&states=PUBLISHED&categories="
+                + categoriesIds.get(3) + "," + categoriesIds.get(7));
+        queries.put("initiator", "/admin/events?withComments=false&users=" + usersIds.get(5));
+        queries.put("offset 1000", "/admin/events?withComments=false&from=1000");
+
+        Map<String, long[]> medians = new LinkedHashMap<>();
+        queries.keySet().forEach(name -> medians.put(name, new long[TABLE_SIZES.length]));
+        int insertedEvents = 0;
+        for (int i = 0; i < TABLE_SIZES.length; i++) {
+            insertEvents(insertedEvents, TABLE_SIZES[i]);
+            insertedEvents = TABLE_SIZES[i];
+            for (Map.Entry<String, String> query : queries.entrySet()) {
+                medians.get(query.getKey())[i] = measureMedian(query.getValue());
+            }
+        }
+
+        StringBuilder report = new StringBuilder("GET /admin/events median latency, us:");
+        for (int i = 0; i < TABLE_SIZES.length; i++) {
+            int tableSize = i;
+            report.append(String.format("%n  %,9d events:", TABLE_SIZES[i]));
+            medians.forEach((name, latencies) -> report.append(String.format("  %s %d", name, latencies[tableSize] / 1_000)));
+        }
+        System.out.println(report);
+        for (Map.Entry<String, long[]> latencies : medians.entrySet()) {
+            long smallestTable = latencies.getValue()[0];
+            long largestTable = latencies.getValue()[TABLE_SIZES.length - 1];
+            assertTrue(largestTable <= smallestTable * ALLOWED_GROWTH + ALLOWED_GROWTH_NANOS,
+                    latencies.getKey() + " grew from " + smallestTable / 1_000 + " us to " + largestTable / 1_000 + " us");
+        }
+    }
+
+    private void insertEvents(int from, int to) {
+        for (int batchStart = from; batchStart < to; batchStart += INSERT_BATCH_SIZE) {
+            List<Object[]> events = new ArrayList<>();
+            for (int i = batchStart; i < Math.min(batchStart + INSERT_BATCH_SIZE, to); i++) {
+                events.add(new Object[]{"Event " + i, "Annotation", "Description",
+                        usersIds.get(i % USERS), categoriesIds.get(i / USERS % CATEGORIES),
+                        LocalDateTime.now().plusDays(1 + i % 365), State.values()[i % State.values().length].name()});
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO events (title, annotation, description, initiator_id, category_id, " +
+                    "longitude, latitude, paid, request_moderation, confirmed_requests, participant_limit, event_date, " +
+                    "created_on, state_condition) " +
+                    "VALUES (?, ?, ?, ?, ?, 0, 0, false, false, 0, 0, ?, CURRENT_TIMESTAMP, ?)", events);
+        }
+    }
+
+    private long measureMedian(String url) throws Exception {
+        for (int i = 0; i < WARMUP_REQUESTS; i++) {
+            search(url);
+        }
+        long[] latencies = new long[MEASURED_REQUESTS];
+        for (int i = 0; i < MEASURED_REQUESTS; i++) {
+            long start = System.nanoTime();
+            search(url);
+            latencies[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(latencies);
+        return latencies[MEASURED_REQUESTS / 2];
+    }
+
+    private void search(String url) throws Exception {
+        mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(10));
+    }
+}
@@ -0,0 +1,144 @@
+package ru.practicum.event;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.category.dao.CategoryRepository;
+import ru.practicum.category.model.Category;
+import ru.practicum.client.StatisticClient;
+import ru.practicum.event.model.State;
+import ru.practicum.users.dao.UserRepository;
+import ru.practicum.users.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@Tag("benchmark")
+@SpringBootTest
+@AutoConfigureMockMvc
+class EventLocationSearchBenchmarkTest {
+    private static final int EVENTS = 1_000_000;
+    private static final int INSERT_BATCH_SIZE = 10_000;
+    private static final double EARTH_RADIUS_KM = 6371.0;
+    private static final double[][] CENTERS = {{55.75, 37.62}, {0, 179.9}, {-33.87, 151.21}, {89.9, 0}};
+    private static final double[] RADII = {10, 100, 1000};
+    private static final int WARMUP_REQUESTS = 20;
+    private static final int MEASURED_REQUESTS = 50;
+    private static final long LOCAL_RADIUS_LATENCY_TARGET_NANOS = 50_000_000L;
+    private static final double LOCAL_RADIUS_KM = 100;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @MockBean
+    private StatisticClient statisticClient;
+
+    private final List<double[]> locations = new ArrayList<>();
+
+    @BeforeEach
+    void createEvents() {
+        when(statisticClient.getUniqueStatisticByEndpoints(any())).thenReturn(ResponseEntity.ok(List.of()));
+        when(statisticClient.getUniqueStatisticByEventId(anyLong()))
+                .thenReturn(ResponseEntity.ok(Map.of("app", "ewm", "uri", "/events", "hits", 0)));
+        when(statisticClient.postAll(any())).thenReturn(ResponseEntity.ok().build());
+        jdbcTemplate.update("DELETE FROM events");
+        jdbcTemplate.update("DELETE FROM categories");
+        jdbcTemplate.update("DELETE FROM users");
+
+        long initiatorId = userRepository.save(User.builder().name("initiator").email("initiator@mail.ru").build()).getId();
+        long categoryId = categoryRepository.save(Category.builder().name("category").build()).getId();
+        Random random = new Random(42);
+        locations.clear();
+        for (int batchStart = 0; batchStart < EVENTS; batchStart += INSERT_BATCH_SIZE) {
+            List<Object[]> events = new ArrayList<>();
+            for (int i = batchStart; i < batchStart + INSERT_BATCH_SIZE; i++) {
+                // uniform over the sphere surface, so polar areas are not overcrowded
+                double latitude = Math.toDegrees(Math.asin(2 * random.nextDouble() - 1));
+                double longitude = 360 * random.nextDouble() - 180;
+                locations.add(new double[]{latitude, longitude});
+                events.add(new Object[]{"Event " + i, initiatorId, categoryId, longitude, latitude,
+                        LocalDateTime.now().plusDays(1 + i % 365), State.PUBLISHED.name()});
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO events (title, annotation, description, initiator_id, category_id, " +
+                    "longitude, latitude, paid, request_moderation, confirmed_requests, participant_limit, event_date, " +
+                    "created_on, state_condition) " +
+                    "VALUES (?, 'Annotation', 'Description', ?, ?, ?, ?, false, false, 0, 0, ?, CURRENT_TIMESTAMP, ?)", events);
+        }
+    }
+
+    @Test
+    void radiusSearchOverMillionEvents() throws Exception {
+        StringBuilder report = new StringBuilder(String.format("GET /events radius search over %,d events, median us:", EVENTS));
+        for (double[] center : CENTERS) {
+            report.append(String.format("%n  (%.2f, %.2f):", center[0], center[1]));
+            for (double radius : RADII) {
+                String url = String.format("/events?size=%d&lat=%s&lon=%s&radius=%s",
+                        EVENTS, center[0], center[1], radius);
+                int expectedMatches = countWithin(center[0], center[1], radius);
+                mockMvc.perform(get(url))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.length()").value(expectedMatches));
+
+                long median = measureMedian(url.replace("size=" + EVENTS, "size=10"));
+                report.append(String.format("  %.0f km %d (%d matches)", radius, median / 1_000, expectedMatches));
+                if (radius <= LOCAL_RADIUS_KM) {
+                    assertTrue(median < LOCAL_RADIUS_LATENCY_TARGET_NANOS, String.format(
+                            "%.0f km around (%s, %s) took %d us", radius, center[0], center[1], median / 1_000));
+                }
+            }
+        }
+        System.out.println(report);
+    }
+
+    private int countWithin(double lat, double lon, double radius) {
+        int matches = 0;
+        for (double[] location : locations) {
+            double sinHalfLatDiff = Math.sin(Math.toRadians(location[0] - lat) / 2);
+            double sinHalfLonDiff = Math.sin(Math.toRadians(location[1] - lon) / 2);
+            double haversine = sinHalfLatDiff * sinHalfLatDiff
+                    + Math.cos(Math.toRadians(location[0])) * Math.cos(Math.toRadians(lat)) * sinHalfLonDiff * sinHalfLonDiff;
+            if (2 * EARTH_RADIUS_KM * Math.asin(Math.sqrt(haversine)) <= radius) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+
+    private long measureMedian(String url) throws Exception {
+        for (int i = 0; i < WARMUP_REQUESTS; i++) {
+            mockMvc.perform(get(url)).andExpect(status().isOk());
+        }
+        long[] latencies = new long[MEASURED_REQUESTS];
+        for (int i = 0; i < MEASURED_REQUESTS; i++) {
+            long start = System.nanoTime();
+            mockMvc.perform(get(url)).andExpect(status().isOk());
+            latencies[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(latencies);
+        return latencies[MEASURED_REQUESTS / 2];
+    }
+}
@@ -0,0 +1,144 @@
+package ru.practicum.event;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import ru.practicum.category.dao.CategoryRepository;
+import ru.practicum.category.model.Category;
+import ru.practicum.client.StatisticClient;
+import ru.practicum.event.dao.EventRepository;
+import ru.practicum.event.model.Event;
+import ru.practicum.event.model.State;
+import ru.practicum.users.dao.UserRepository;
+import ru.practicum.users.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class EventLocationSearchTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private EventRepository eventRepository;
+    @MockBean
+    private StatisticClient statisticClient;
+
+    private User initiator;
+    private Category category;
+
+    @BeforeEach
+    void createUsers() {
+        when(statisticClient.getUniqueStatisticByEndpoints(any())).thenReturn(ResponseEntity.ok(List.of()));
+        when(statisticClient.postAll(any())).thenReturn(ResponseEntity.ok().build());
+        jdbcTemplate.update("DELETE FROM events");
+        jdbcTemplate.update("DELETE FROM categories");
+        jdbcTemplate.update("DELETE FROM users");
+
+        initiator = userRepository.save(User.builder().name("initiator").email("initiator@mail.ru").build());
+        category = categoryRepository.save(Category.builder().name("category").build());
+    }
+
+    @Test
+    void radiusAroundPoleMatchesEveryLongitude() throws Exception {
+        long nearPoleEventId = saveEvent(89.5, 0);
+        long acrossPoleEventId = saveEvent(89.5, 179);
+        long westOfPoleEventId = saveEvent(89.8, -90);
+        long southPoleEventId = saveEvent(-89.5, 0);
+        saveEvent(88.0, 0);
+
+        expectEvents(90, 0, 100, nearPoleEventId, acrossPoleEventId, westOfPoleEventId);
+        expectEvents(-90, 45, 100, southPoleEventId);
+    }
+
+    @Test
+    void radiusAcrossAntimeridianMatchesBothSides() throws Exception {
+        long eastEventId = saveEvent(0, 179.9);
+        long westEventId = saveEvent(0, -179.9);
+        saveEvent(0, 179.0);
+        saveEvent(0, -179.0);
+        saveEvent(0, 0);
+
+        expectEvents(0, 179.95, 50, eastEventId, westEventId);
+        expectEvents(0, -179.95, 50, eastEventId, westEventId);
+    }
+
+    @Test
+    void radiusBeyondHalfCircumferenceMatchesWholeGlobe() throws Exception {
+        long moscowEventId = saveEvent(55.75, 37.62);
+        long antipodeEventId = saveEvent(-55.75, -142.38);
+        long northPoleEventId = saveEvent(90, 0);
+        long southPoleEventId = saveEvent(-90, 0);
+
+        expectEvents(55.75, 37.62, 20_000, moscowEventId, northPoleEventId, southPoleEventId);
+        expectEvents(55.75, 37.62, 25_000, moscowEventId, antipodeEventId, northPoleEventId, southPoleEventId);
+    }
+
+    @Test
+    void partialLocationIsRejected() throws Exception {
+        saveEvent(55.75, 37.62);
+
+        expectBadRequest("/events?lat=55.75&lon=37.62");
+        expectBadRequest("/events?lat=55.75&radius=10");
+        expectBadRequest("/events?lon=37.62&radius=10");
+        expectBadRequest("/events?radius=10");
+        expectBadRequest("/events?lat=91&lon=37.62&radius=10");
+        expectBadRequest("/events?lat=55.75&lon=181&radius=10");
+        expectBadRequest("/events?lat=55.75&lon=37.62&radius=0");
+    }
+
+    private long saveEvent(double latitude, double longitude) {
+        return eventRepository.save(Event.builder()
+                .title("Event at " + latitude + ", " + longitude)
+                .annotation("Annotation of event")
+                .description("Description of event")
+                .initiator(initiator)
+                .category(category)
+                .latitude(latitude)
+                .longitude(longitude)
+                .eventDate(LocalDateTime.now().plusDays(1))
+                .createdOn(LocalDateTime.now())
+                .publishedTime(LocalDateTime.now())
+                .state(State.PUBLISHED)
+                .build()).getId();
+    }
+
+    private void expectEvents(double lat, double lon, double radius, Long... eventsIds) throws Exception {
+        ResultActions result = mockMvc.perform(get("/events")
+                        .param("lat", String.valueOf(lat))
+                        .param("lon", String.valueOf(lon))
+                        .param("radius", String.valueOf(radius)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(eventsIds.length));
+        if (eventsIds.length > 0) {
+            result.andExpect(jsonPath("$[*].id", containsInAnyOrder(
+                    List.of(eventsIds).stream().map(Long::intValue).toArray(Integer[]::new))));
+        }
+    }
+
+    private void expectBadRequest(String url) throws Exception {
+        mockMvc.perform(get(url))
+                .andExpect(status().isBadRequest());
+    }
+}
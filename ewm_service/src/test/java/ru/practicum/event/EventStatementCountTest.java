@@ -0,0 +1,172 @@
+package ru.practicum.event;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.category.dao.CategoryRepository;
+import ru.practicum.category.model.Category;
+import ru.practicum.client.StatisticClient;
+import ru.practicum.comment.dao.CommentReplyRepository;
+import ru.practicum.comment.dao.CommentRepository;
+import ru.practicum.comment.model.Comment;
+import ru.practicum.comment.model.CommentReply;
+import ru.practicum.event.dao.EventRepository;
+import ru.practicum.event.model.Event;
+import ru.practicum.event.model.State;
+import ru.practicum.users.dao.UserRepository;
+import ru.practicum.users.model.User;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+class EventStatementCountTest {
+    private static final int EVENTS_PAGE_BUDGET = 1;
+    private static final int USER_EVENTS_PAGE_BUDGET = 1;
+    // events, comment counts, comment previews, replies
+    private static final int ADMIN_EVENTS_PAGE_BUDGET = 4;
+    private static final int PREVIEW_SIZE = 10;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private EventRepository eventRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+    @Autowired
+    private CommentReplyRepository commentReplyRepository;
+    @MockBean
+    private StatisticClient statisticClient;
+
+    private User initiator;
+
+    @BeforeEach
+    void createEvents() {
+        when(statisticClient.getUniqueStatisticByEndpoints(any())).thenReturn(ResponseEntity.ok(List.of()));
+        when(statisticClient.getUniqueStatisticByEventId(anyLong()))
+                .thenReturn(ResponseEntity.ok(Map.of("app", "ewm", "uri", "/events", "hits", 0)));
+        when(statisticClient.postAll(any())).thenReturn(ResponseEntity.ok().build());
+        jdbcTemplate.update("DELETE FROM events");
+        jdbcTemplate.update("DELETE FROM categories");
+        jdbcTemplate.update("DELETE FROM users");
+
+        for (int i = 0; i < 5; i++) {
+            User user = userRepository.save(User.builder().name("user" + i).email("user" + i + "@mail.ru").build());
+            Category category = categoryRepository.save(Category.builder().name("category" + i).build());
+            if (i == 0) {
+                initiator = user;
+            }
+            for (int j = 0; j < 6; j++) {
+                Event event = eventRepository.save(Event.builder()
+                        .title("Event " + i + "-" + j)
+                        .annotation("Annotation of event " + i + "-" + j)
+                        .description("Description of event " + i + "-" + j)
+                        .initiator(i % 2 == 0 ? initiator : user)
+                        .category(category)
+                        .eventDate(LocalDateTime.now().plusDays(i * 6 + j + 1))
+                        .createdOn(LocalDateTime.now())
+                        .publishedTime(LocalDateTime.now())
+                        .state(State.PUBLISHED)
+                        .build());
+                addComments(event, user, i == 0 && j == 0 ? PREVIEW_SIZE + 2 : j % 3);
+            }
+        }
+    }
+
+    @Test
+    void publicSearchEventsStaysWithinStatementBudget() throws Exception {
+        long smallPage = countStatements("/events?size=2", 2);
+        long largePage = countStatements("/events?size=20", 20);
+
+        assertTrue(smallPage <= EVENTS_PAGE_BUDGET, "GET /events used " + smallPage + " statements");
+        assertEquals(smallPage, largePage);
+    }
+
+    @Test
+    void privateGetUserEventsStaysWithinStatementBudget() throws Exception {
+        long smallPage = countStatements("/users/" + initiator.getId() + "/events?size=2", 2);
+        long largePage = countStatements("/users/" + initiator.getId() + "/events?size=15", 15);
+
+        assertTrue(smallPage <= USER_EVENTS_PAGE_BUDGET, "GET /users/{id}/events used " + smallPage + " statements");
+        assertEquals(smallPage, largePage);
+    }
+
+    @Test
+    void adminSearchEventsStaysWithinStatementBudget() throws Exception {
+        long smallPage = countStatements("/admin/events?size=2", 2);
+        long largePage = countStatements("/admin/events?size=20", 20);
+
+        assertTrue(smallPage <= ADMIN_EVENTS_PAGE_BUDGET, "GET /admin/events used " + smallPage + " statements");
+        assertEquals(smallPage, largePage);
+    }
+
+    @Test
+    void adminSearchEventsEmbedsCommentPreviews() throws Exception {
+        mockMvc.perform(get("/admin/events?size=3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].commentsCount").value(PREVIEW_SIZE + 2))
+                .andExpect(jsonPath("$[0].comments.length()").value(PREVIEW_SIZE))
+                .andExpect(jsonPath("$[0].comments[0].text").value("Comment 0"))
+                .andExpect(jsonPath("$[0].comments[0].replies.length()").value(2))
+                .andExpect(jsonPath("$[1].commentsCount").value(1))
+                .andExpect(jsonPath("$[1].comments[0].replies[1].text").value("Reply 0-1"))
+                .andExpect(jsonPath("$[2].commentsCount").value(2))
+                .andExpect(jsonPath("$[2].comments.length()").value(2));
+    }
+
+    private void addComments(Event event, User commentator, int count) {
+        for (int i = 0; i < count; i++) {
+            Comment comment = commentRepository.save(Comment.builder()
+                    .commentator(commentator)
+                    .event(event)
+                    .text("Comment " + i)
+                    .timestamp(LocalDateTime.now())
+                    .build());
+            for (int j = 0; j < 2; j++) {
+                commentReplyRepository.save(CommentReply.builder()
+                        .commentator(initiator)
+                        .comment(comment)
+                        .text("Reply " + i + "-" + j)
+                        .timestamp(LocalDateTime.now())
+                        .build());
+            }
+        }
+    }
+
+    private long countStatements(String url, int expectedSize) throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(expectedSize));
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,185 @@
+package ru.practicum.event;
+
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import ru.practicum.category.dao.CategoryRepository;
+import ru.practicum.category.model.Category;
+import ru.practicum.client.StatisticClient;
+import ru.practicum.event.dao.EventTitleIndex;
+import ru.practicum.event.model.State;
+import ru.practicum.users.dao.UserRepository;
+import ru.practicum.users.model.User;
+import ru.practicum.utils.Mapper;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.Matchers.contains;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class EventSuggestTest {
+    private static final int INDEXED_EVENTS = 20_000;
+    private static final int WARMUP_REQUESTS = 300;
+    private static final int MEASURED_REQUESTS = 1000;
+    private static final long REQUEST_LATENCY_TARGET_NANOS = 10_000_000L;
+    private static final long LOOKUP_LATENCY_TARGET_NANOS = 1_000_000L;
+    private static final String[] PREFIXES = {"ev", "event num", "town 4", "number 123", "in"};
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private EventTitleIndex titleIndex;
+    @MockBean
+    private StatisticClient statisticClient;
+
+    private User initiator;
+    private Category category;
+
+    @BeforeEach
+    void createUsers() {
+        when(statisticClient.getUniqueStatisticByEndpoints(any())).thenReturn(ResponseEntity.ok(List.of()));
+        when(statisticClient.getUniqueStatisticByEventId(anyLong()))
+                .thenReturn(ResponseEntity.ok(Map.of("app", "ewm", "uri", "/events", "hits", 0)));
+        when(statisticClient.postAll(any())).thenReturn(ResponseEntity.ok().build());
+        jdbcTemplate.update("DELETE FROM events");
+        jdbcTemplate.update("DELETE FROM categories");
+        jdbcTemplate.update("DELETE FROM users");
+
+        initiator = userRepository.save(User.builder().name("initiator").email("initiator@mail.ru").build());
+        category = categoryRepository.save(Category.builder().name("category").build());
+    }
+
+    @Test
+    void suggestFollowsPublishEditAndDelete() throws Exception {
+        long eventId = addEvent("Jazz festival");
+        expectSuggestions("jazz");
+
+        updateByAdmin(eventId, "{\"stateAction\":\"PUBLISH_EVENT\"}");
+        expectSuggestions("jazz", (int) eventId);
+        expectSuggestions("fest", (int) eventId);
+
+        updateByAdmin(eventId, "{\"title\":\"Rock night\"}");
+        expectSuggestions("jazz");
+        expectSuggestions("rock", (int) eventId);
+
+        mockMvc.perform(delete("/admin/users/" + initiator.getId()))
+                .andExpect(status().isNoContent());
+        expectSuggestions("rock");
+    }
+
+    @Test
+    void suggestSkipsCanceledAndRejectedEvents() throws Exception {
+        long canceledEventId = addEvent("Opera premiere");
+        long rejectedEventId = addEvent("Opera gala");
+
+        mockMvc.perform(patch("/users/" + initiator.getId() + "/events/" + canceledEventId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"stateAction\":\"CANCEL_REVIEW\"}"))
+                .andExpect(status().isOk());
+        updateByAdmin(rejectedEventId, "{\"stateAction\":\"REJECT_EVENT\"}");
+
+        expectSuggestions("opera");
+    }
+
+    @Test
+    void suggestAnswersInSingleDigitMilliseconds() throws Exception {
+        List<Object[]> events = new ArrayList<>();
+        for (int i = 0; i < INDEXED_EVENTS; i++) {
+            events.add(new Object[]{"Event number " + i + " in town " + (i % 100), "Annotation", "Description",
+                    initiator.getId(), category.getId(), LocalDateTime.now().plusDays(1), State.PUBLISHED.name()});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO events (title, annotation, description, initiator_id, category_id, " +
+                "longitude, latitude, paid, confirmed_requests, event_date, state_condition) " +
+                "VALUES (?, ?, ?, ?, ?, 0, 0, false, 0, ?, ?)", events);
+        titleIndex.buildIndex();
+
+        for (int i = 0; i < WARMUP_REQUESTS; i++) {
+            suggest(PREFIXES[i % PREFIXES.length]);
+        }
+        long[] requestLatencies = new long[MEASURED_REQUESTS];
+        long[] lookupLatencies = new long[MEASURED_REQUESTS];
+        for (int i = 0; i < MEASURED_REQUESTS; i++) {
+            long start = System.nanoTime();
+            suggest(PREFIXES[i % PREFIXES.length]);
+            requestLatencies[i] = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            titleIndex.findByPrefix(PREFIXES[i % PREFIXES.length], 10);
+            lookupLatencies[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(requestLatencies);
+        Arrays.sort(lookupLatencies);
+        long requestMedian = requestLatencies[MEASURED_REQUESTS / 2];
+        long lookupP95 = lookupLatencies[(int) (MEASURED_REQUESTS * 0.95)];
+
+        assertTrue(requestMedian < REQUEST_LATENCY_TARGET_NANOS,
+                "GET /events/suggest median is " + requestMedian / 1_000 + " us");
+        assertTrue(lookupP95 < LOOKUP_LATENCY_TARGET_NANOS,
+                "title index lookup p95 is " + lookupP95 / 1_000 + " us");
+    }
+
+    private long addEvent(String title) throws Exception {
+        String response = mockMvc.perform(post("/users/" + initiator.getId() + "/events")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"" + title + "\","
+                                + "\"annotation\":\"Annotation of the event long enough\","
+                                + "\"description\":\"Description of the event long enough\","
+                                + "\"category\":" + category.getId() + ","
+                                + "\"eventDate\":\"" + LocalDateTime.now().plusDays(2).format(Mapper.formatter) + "\","
+                                + "\"location\":{\"lat\":55.75,\"lon\":37.62}}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return ((Number) JsonPath.read(response, "$.id")).longValue();
+    }
+
+    private void updateByAdmin(long eventId, String body) throws Exception {
+        mockMvc.perform(patch("/admin/events/" + eventId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk());
+    }
+
+    private void expectSuggestions(String query, Integer... eventsIds) throws Exception {
+        ResultActions result = mockMvc.perform(get("/events/suggest").param("q", query))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(eventsIds.length));
+        if (eventsIds.length > 0) {
+            result.andExpect(jsonPath("$[*].id", contains(eventsIds)));
+        }
+    }
+
+    private void suggest(String query) throws Exception {
+        mockMvc.perform(get("/events/suggest").param("q", query))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,141 @@
+package ru.practicum.event;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.category.dao.CategoryRepository;
+import ru.practicum.category.model.Category;
+import ru.practicum.client.StatisticClient;
+import ru.practicum.event.dao.EventRepository;
+import ru.practicum.event.dao.EventTextSearch;
+import ru.practicum.event.model.Event;
+import ru.practicum.event.model.EventChangedEvent;
+import ru.practicum.event.model.EventsViewsChangedEvent;
+import ru.practicum.event.model.State;
+import ru.practicum.event.model.dto.PublicSearchEventSort;
+import ru.practicum.users.dao.UserRepository;
+import ru.practicum.users.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "events.text-search.page-size=3")
+@AutoConfigureMockMvc
+class EventTextSearchPagingTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private EventRepository eventRepository;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    @SpyBean
+    private EventTextSearch textSearch;
+    @MockBean
+    private StatisticClient statisticClient;
+
+    private Category evenCategory;
+    private Category oddCategory;
+    private final List<Long> eventsIds = new ArrayList<>();
+
+    @BeforeEach
+    void createEvents() {
+        when(statisticClient.getUniqueStatisticByEndpoints(any())).thenReturn(ResponseEntity.ok(List.of()));
+        when(statisticClient.postAll(any())).thenReturn(ResponseEntity.ok().build());
+        jdbcTemplate.update("DELETE FROM events");
+        jdbcTemplate.update("DELETE FROM categories");
+        jdbcTemplate.update("DELETE FROM users");
+
+        User initiator = userRepository.save(User.builder().name("initiator").email("initiator@mail.ru").build());
+        evenCategory = categoryRepository.save(Category.builder().name("even").build());
+        oddCategory = categoryRepository.save(Category.builder().name("odd").build());
+        eventsIds.clear();
+        for (int i = 0; i < 12; i++) {
+            long eventId = eventRepository.save(Event.builder()
+                    .title("Concert " + i)
+                    .annotation("Annotation of concert " + i)
+                    .description("Description of concert " + i)
+                    .initiator(initiator)
+                    .category(i % 2 == 0 ? evenCategory : oddCategory)
+                    .eventDate(LocalDateTime.now().plusDays(i + 1))
+                    .createdOn(LocalDateTime.now())
+                    .publishedTime(LocalDateTime.now())
+                    .state(State.PUBLISHED)
+                    .build()).getId();
+            jdbcTemplate.update("UPDATE events SET views = ? WHERE id = ?", i, eventId);
+            eventsIds.add(eventId);
+            eventPublisher.publishEvent(new EventChangedEvent(eventId));
+        }
+    }
+
+    @Test
+    void textSearchSortedByDateFiltersAllMatchesBeforePaging() throws Exception {
+        mockMvc.perform(get("/events?text=concert&categories=" + evenCategory.getId() + "&sort=EVENT_DATE&from=2&size=3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].title", contains("Concert 4", "Concert 6", "Concert 8")));
+    }
+
+    @Test
+    void textSearchSortedByViewsFiltersAllMatchesBeforePaging() throws Exception {
+        mockMvc.perform(get("/events?text=concert&categories=" + oddCategory.getId() + "&sort=VIEWS&from=1&size=2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].title", contains("Concert 9", "Concert 7")));
+    }
+
+    @Test
+    void textSearchSortedByRelevanceReadsMatchesPastFirstPage() throws Exception {
+        mockMvc.perform(get("/events?text=concert&categories=" + evenCategory.getId() + "&sort=RELEVANCE&size=10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].title", containsInAnyOrder(
+                        "Concert 0", "Concert 2", "Concert 4", "Concert 6", "Concert 8", "Concert 10")));
+        mockMvc.perform(get("/events?text=concert&categories=" + evenCategory.getId() + "&sort=RELEVANCE&from=5&size=10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1));
+    }
+
+    @Test
+    void textSearchSortedByDateStopsAfterCoveringPage() throws Exception {
+        mockMvc.perform(get("/events?text=concert&sort=EVENT_DATE&size=3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].title", contains("Concert 0", "Concert 1", "Concert 2")));
+
+        verify(textSearch, times(1)).search(eq("concert"), eq(PublicSearchEventSort.EVENT_DATE), any());
+    }
+
+    @Test
+    void textSearchSortedByViewsFollowsSynchronizedViews() throws Exception {
+        jdbcTemplate.update("UPDATE events SET views = 100 WHERE id = ?", eventsIds.get(0));
+        jdbcTemplate.update("UPDATE events SET views = 50 WHERE id = ?", eventsIds.get(2));
+        eventPublisher.publishEvent(new EventsViewsChangedEvent(Map.of(eventsIds.get(0), 100L, eventsIds.get(2), 50L)));
+
+        mockMvc.perform(get("/events?text=concert&categories=" + evenCategory.getId() + "&sort=VIEWS&size=3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].title", contains("Concert 0", "Concert 2", "Concert 10")));
+    }
+}
@@ -0,0 +1,177 @@
+package ru.practicum.event;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.ResourceAccessException;
+import ru.practicum.category.dao.CategoryRepository;
+import ru.practicum.category.model.Category;
+import ru.practicum.client.StatisticClient;
+import ru.practicum.event.dao.EventRepository;
+import ru.practicum.event.model.Event;
+import ru.practicum.event.model.State;
+import ru.practicum.event.service.EventViewsSynchronizer;
+import ru.practicum.users.dao.UserRepository;
+import ru.practicum.users.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(properties = "events.views-sync.interval-ms=3600000")
+class EventViewsSynchronizerTest {
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private EventRepository eventRepository;
+    @Autowired
+    private EventViewsSynchronizer synchronizer;
+    @MockBean
+    private StatisticClient statisticClient;
+
+    private long eventId;
+    private long otherEventId;
+
+    @BeforeEach
+    void createEvent() {
+        jdbcTemplate.update("DELETE FROM events");
+        jdbcTemplate.update("DELETE FROM categories");
+        jdbcTemplate.update("DELETE FROM users");
+
+        User initiator = userRepository.save(User.builder().name("initiator").email("initiator@mail.ru").build());
+        Category category = categoryRepository.save(Category.builder().name("category").build());
+        eventId = eventRepository.save(Event.builder()
+                .title("Event")
+                .annotation("Annotation of event")
+                .description("Description of event")
+                .initiator(initiator)
+                .category(category)
+                .eventDate(LocalDateTime.now().plusDays(1))
+                .createdOn(LocalDateTime.now())
+                .publishedTime(LocalDateTime.now())
+                .state(State.PUBLISHED)
+                .build()).getId();
+        otherEventId = eventRepository.save(Event.builder()
+                .title("Other event")
+                .annotation("Annotation of other event")
+                .description("Description of other event")
+                .initiator(initiator)
+                .category(category)
+                .eventDate(LocalDateTime.now().plusDays(1))
+                .createdOn(LocalDateTime.now())
+                .publishedTime(LocalDateTime.now())
+                .state(State.PUBLISHED)
+                .build()).getId();
+        jdbcTemplate.update("UPDATE events SET views = 7 WHERE id IN (?, ?)", eventId, otherEventId);
+        // every test starts from the first run, which has no watermark yet
+        ReflectionTestUtils.setField(synchronizer, "synchronizedUntil", null);
+    }
+
+    @Test
+    void synchronizeKeepsStoredViewsWhenStatisticServerRejectsLookup() {
+        when(statisticClient.getUniqueStatisticByEndpoints(any()))
+                .thenReturn(ResponseEntity.status(HttpStatus.BAD_REQUEST).body(new byte[0]));
+
+        synchronizer.synchronize();
+
+        assertEquals(7L, getStoredViews());
+    }
+
+    @Test
+    void synchronizeKeepsStoredViewsWhenStatisticServerIsUnreachable() {
+        when(statisticClient.getUniqueStatisticByEndpoints(any()))
+                .thenThrow(new ResourceAccessException("Connection refused"));
+
+        synchronizer.synchronize();
+
+        assertEquals(7L, getStoredViews());
+    }
+
+    @Test
+    void synchronizeSavesViewsAnsweredByStatisticServer() {
+        when(statisticClient.getUniqueStatisticByEndpoints(any()))
+                .thenReturn(ResponseEntity.ok(List.of(Map.of("app", "ewm", "uri", "/events/" + eventId, "hits", 12))));
+
+        synchronizer.synchronize();
+
+        assertEquals(12L, getStoredViews());
+    }
+
+    @Test
+    void synchronizeAfterFirstRunRefreshesOnlyViewedEvents() {
+        when(statisticClient.getUniqueStatisticByEndpoints(any())).thenReturn(ResponseEntity.ok(List.of()));
+        synchronizer.synchronize();
+        clearInvocations(statisticClient);
+        when(statisticClient.getExactStatistic(anyString(), anyString()))
+                .thenReturn(ResponseEntity.ok(List.of(
+                        Map.of("app", "ewm", "uri", "/events/" + eventId, "hits", 3),
+                        Map.of("app", "ewm", "uri", "/events", "hits", 5))));
+        when(statisticClient.getUniqueStatisticByEndpoints(any()))
+                .thenReturn(ResponseEntity.ok(List.of(Map.of("app", "ewm", "uri", "/events/" + eventId, "hits", 15))));
+
+        synchronizer.synchronize();
+
+        verify(statisticClient).getUniqueStatisticByEndpoints(List.of("/events/" + eventId));
+        assertEquals(15L, getStoredViews(eventId));
+        assertEquals(0L, getStoredViews(otherEventId));
+    }
+
+    @Test
+    void synchronizeWithoutViewsSinceLastRunSkipsRefresh() {
+        when(statisticClient.getUniqueStatisticByEndpoints(any())).thenReturn(ResponseEntity.ok(List.of()));
+        synchronizer.synchronize();
+        clearInvocations(statisticClient);
+        when(statisticClient.getExactStatistic(anyString(), anyString())).thenReturn(ResponseEntity.ok(List.of()));
+
+        synchronizer.synchronize();
+
+        verify(statisticClient).getExactStatistic(anyString(), anyString());
+        verify(statisticClient, never()).getUniqueStatisticByEndpoints(any());
+    }
+
+    @Test
+    void synchronizeKeepsWatermarkWhenViewedEventsAreUnavailable() {
+        when(statisticClient.getUniqueStatisticByEndpoints(any())).thenReturn(ResponseEntity.ok(List.of()));
+        synchronizer.synchronize();
+        when(statisticClient.getExactStatistic(anyString(), anyString()))
+                .thenThrow(new ResourceAccessException("Connection refused"));
+        synchronizer.synchronize();
+        doReturn(ResponseEntity.ok(List.of())).when(statisticClient).getExactStatistic(anyString(), anyString());
+
+        synchronizer.synchronize();
+
+        ArgumentCaptor<String> starts = ArgumentCaptor.forClass(String.class);
+        verify(statisticClient, times(2)).getExactStatistic(starts.capture(), anyString());
+        assertEquals(starts.getAllValues().get(0), starts.getAllValues().get(1));
+    }
+
+    private long getStoredViews() {
+        return getStoredViews(eventId);
+    }
+
+    private long getStoredViews(long id) {
+        Long views = jdbcTemplate.queryForObject("SELECT views FROM events WHERE id = ?", Long.class, id);
+        return views == null ? 0L : views;
+    }
+}
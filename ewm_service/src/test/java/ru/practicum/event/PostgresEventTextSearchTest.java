@@ -0,0 +1,156 @@
+package ru.practicum.event;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import ru.practicum.category.dao.CategoryRepository;
+import ru.practicum.category.model.Category;
+import ru.practicum.client.StatisticClient;
+import ru.practicum.event.dao.EventRepository;
+import ru.practicum.event.dao.EventTextSearch;
+import ru.practicum.event.dao.PostgresEventTextSearch;
+import ru.practicum.event.model.Event;
+import ru.practicum.event.model.State;
+import ru.practicum.users.dao.UserRepository;
+import ru.practicum.users.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(properties = "events.text-search.page-size=3")
+@AutoConfigureMockMvc
+class PostgresEventTextSearchTest {
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:14-alpine");
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private EventRepository eventRepository;
+    @Autowired
+    private EventTextSearch textSearch;
+    @MockBean
+    private StatisticClient statisticClient;
+
+    private User initiator;
+    private Category evenCategory;
+    private Category oddCategory;
+
+    @DynamicPropertySource
+    static void postgresProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.driverClassName", POSTGRES::getDriverClassName);
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+        registry.add("spring.sql.init.platform", () -> "postgresql");
+    }
+
+    @BeforeEach
+    void createEvents() {
+        when(statisticClient.getUniqueStatisticByEndpoints(any())).thenReturn(ResponseEntity.ok(List.of()));
+        when(statisticClient.getUniqueStatisticByEventId(anyLong()))
+                .thenReturn(ResponseEntity.ok(Map.of("app", "ewm", "uri", "/events", "hits", 0)));
+        when(statisticClient.postAll(any())).thenReturn(ResponseEntity.ok().build());
+        jdbcTemplate.update("DELETE FROM events");
+        jdbcTemplate.update("DELETE FROM categories");
+        jdbcTemplate.update("DELETE FROM users");
+
+        initiator = userRepository.save(User.builder().name("initiator").email("initiator@mail.ru").build());
+        evenCategory = categoryRepository.save(Category.builder().name("even").build());
+        oddCategory = categoryRepository.save(Category.builder().name("odd").build());
+        for (int i = 0; i < 12; i++) {
+            long eventId = saveEvent("Concert " + i, "Annotation of concert " + i, "Description of concert " + i,
+                    i % 2 == 0 ? evenCategory : oddCategory, i + 1);
+            jdbcTemplate.update("UPDATE events SET views = ? WHERE id = ?", i, eventId);
+        }
+    }
+
+    @Test
+    void postgresProfileUsesTsvectorSearch() {
+        assertInstanceOf(PostgresEventTextSearch.class, textSearch);
+    }
+
+    @Test
+    void textSearchSortedByDatePagesThroughMatches() throws Exception {
+        mockMvc.perform(get("/events?text=concert&categories=" + evenCategory.getId() + "&sort=EVENT_DATE&from=2&size=3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].title", contains("Concert 4", "Concert 6", "Concert 8")));
+    }
+
+    @Test
+    void textSearchSortedByViewsPagesThroughMatches() throws Exception {
+        mockMvc.perform(get("/events?text=concert&categories=" + oddCategory.getId() + "&sort=VIEWS&from=1&size=4"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].title", contains("Concert 9", "Concert 7", "Concert 5", "Concert 3")));
+    }
+
+    @Test
+    void textSearchSortedByRelevanceRanksTitleAboveDescription() throws Exception {
+        saveEvent("Jazz evening", "Live music", "An evening in the park", evenCategory, 20);
+        saveEvent("Evening in the park", "Live music", "Jazz quartet plays standards", evenCategory, 21);
+
+        mockMvc.perform(get("/events?text=jazz&sort=RELEVANCE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].title", contains("Jazz evening", "Evening in the park")));
+    }
+
+    @Test
+    void textSearchMatchesPrefixesOfAllTerms() throws Exception {
+        mockMvc.perform(get("/events?text=conc descr&categories=" + evenCategory.getId() + "&sort=RELEVANCE&size=10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].title", containsInAnyOrder(
+                        "Concert 0", "Concert 2", "Concert 4", "Concert 6", "Concert 8", "Concert 10")));
+    }
+
+    @Test
+    void textSearchSeesUpdatedText() throws Exception {
+        jdbcTemplate.update("UPDATE events SET title = 'Opera 0' WHERE title = 'Concert 0'");
+
+        mockMvc.perform(get("/events?text=opera&sort=EVENT_DATE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].title", contains("Opera 0")));
+    }
+
+    private long saveEvent(String title, String annotation, String description, Category category, int daysAhead) {
+        return eventRepository.save(Event.builder()
+                .title(title)
+                .annotation(annotation)
+                .description(description)
+                .initiator(initiator)
+                .category(category)
+                .eventDate(LocalDateTime.now().plusDays(daysAhead))
+                .createdOn(LocalDateTime.now())
+                .publishedTime(LocalDateTime.now())
+                .state(State.PUBLISHED)
+                .build()).getId();
+    }
+}
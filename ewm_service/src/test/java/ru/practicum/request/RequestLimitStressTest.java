@@ -0,0 +1,133 @@
+package ru.practicum.request;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.category.dao.CategoryRepository;
+import ru.practicum.category.model.Category;
+import ru.practicum.client.StatisticClient;
+import ru.practicum.event.dao.EventRepository;
+import ru.practicum.event.model.Event;
+import ru.practicum.event.model.State;
+import ru.practicum.request.dao.RequestRepository;
+import ru.practicum.request.model.Status;
+import ru.practicum.users.dao.UserRepository;
+import ru.practicum.users.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class RequestLimitStressTest {
+    private static final int PARTICIPANT_LIMIT = 5;
+    private static final int REQUESTERS = 200;
+    private static final int THREADS = 32;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private EventRepository eventRepository;
+    @Autowired
+    private RequestRepository requestRepository;
+    @MockBean
+    private StatisticClient statisticClient;
+
+    private ExecutorService executor;
+    private long eventId;
+    private final List<Long> requestersIds = new ArrayList<>();
+
+    @BeforeEach
+    void createEvent() {
+        when(statisticClient.getUniqueStatisticByEndpoints(any())).thenReturn(ResponseEntity.ok(List.of()));
+        when(statisticClient.postAll(any())).thenReturn(ResponseEntity.ok().build());
+        jdbcTemplate.update("DELETE FROM requests");
+        jdbcTemplate.update("DELETE FROM events");
+        jdbcTemplate.update("DELETE FROM categories");
+        jdbcTemplate.update("DELETE FROM users");
+        executor = Executors.newFixedThreadPool(THREADS);
+
+        User initiator = userRepository.save(User.builder().name("initiator").email("initiator@mail.ru").build());
+        Category category = categoryRepository.save(Category.builder().name("category").build());
+        eventId = eventRepository.save(Event.builder()
+                .title("Event")
+                .annotation("Annotation of event")
+                .description("Description of event")
+                .initiator(initiator)
+                .category(category)
+                .eventDate(LocalDateTime.now().plusDays(1))
+                .createdOn(LocalDateTime.now())
+                .publishedTime(LocalDateTime.now())
+                .participantLimit(PARTICIPANT_LIMIT)
+                .requestModeration(false)
+                .state(State.PUBLISHED)
+                .build()).getId();
+        requestersIds.clear();
+        for (int i = 0; i < REQUESTERS; i++) {
+            requestersIds.add(userRepository.save(User.builder().name("user" + i).email("user" + i + "@mail.ru").build()).getId());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void parallelRequestsNeverExceedParticipantLimit() throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<HttpStatus>> results = new ArrayList<>();
+        for (long requesterId : requestersIds) {
+            results.add(executor.submit(() -> {
+                start.await();
+                return restTemplate.postForEntity("/users/{userId}/requests?eventId={eventId}", null, String.class,
+                        requesterId, eventId).getStatusCode();
+            }));
+        }
+        start.countDown();
+
+        int created = 0;
+        int conflicts = 0;
+        for (Future<HttpStatus> result : results) {
+            HttpStatus status = result.get(60, TimeUnit.SECONDS);
+            if (status == HttpStatus.CREATED) {
+                created++;
+            } else if (status == HttpStatus.CONFLICT) {
+                conflicts++;
+            }
+        }
+
+        Integer confirmedRequests = jdbcTemplate.queryForObject(
+                "SELECT confirmed_requests FROM events WHERE id = ?", Integer.class, eventId);
+        int confirmedRows = requestRepository.findAllByEventIdAndStatus(eventId, Status.CONFIRMED).size();
+        assertTrue(confirmedRequests != null && confirmedRequests <= PARTICIPANT_LIMIT,
+                "confirmed_requests is " + confirmedRequests);
+        assertEquals(PARTICIPANT_LIMIT, created);
+        assertEquals(REQUESTERS - PARTICIPANT_LIMIT, conflicts);
+        assertEquals(PARTICIPANT_LIMIT, confirmedRequests);
+        assertEquals(PARTICIPANT_LIMIT, confirmedRows);
+    }
+}
@@ -0,0 +1,58 @@
+package ru.practicum.users;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.users.dao.UserRepository;
+import ru.practicum.users.model.User;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.contains;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class UserControllerTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private UserRepository userRepository;
+
+    private final List<Integer> usersIds = new ArrayList<>();
+
+    @BeforeEach
+    void createUsers() {
+        jdbcTemplate.update("DELETE FROM users");
+        usersIds.clear();
+        for (int i = 0; i < 5; i++) {
+            usersIds.add((int) userRepository.save(User.builder().name("user" + i).email("user" + i + "@mail.ru").build()).getId());
+        }
+    }
+
+    @Test
+    void getUsersTreatsFromAsRowOffset() throws Exception {
+        mockMvc.perform(get("/admin/users?from=1&size=2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", contains(usersIds.get(1), usersIds.get(2))));
+        mockMvc.perform(get("/admin/users?from=3&size=2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", contains(usersIds.get(3), usersIds.get(4))));
+    }
+
+    @Test
+    void getUsersByIdsTreatsFromAsRowOffset() throws Exception {
+        mockMvc.perform(get("/admin/users?ids=" + usersIds.get(0) + "," + usersIds.get(2) + "," + usersIds.get(4) + "&from=1&size=2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", contains(usersIds.get(2), usersIds.get(4))));
+    }
+}
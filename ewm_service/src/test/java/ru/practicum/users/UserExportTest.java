@@ -0,0 +1,114 @@
+package ru.practicum.users;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.users.cotroller.UserController;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class UserExportTest {
+    // more than one fetch of the users stream, so the export reads several result set pages
+    private static final int USERS = 2_000;
+    private static final int BYTES_BEFORE_DISCONNECT = 16 * 1024;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private UserController userController;
+    @Autowired
+    private DataSource dataSource;
+
+    @BeforeEach
+    void createUsers() {
+        jdbcTemplate.update("DELETE FROM users");
+        List<Object[]> users = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            users.add(new Object[]{"user" + i, "user" + i + "@mail.ru"});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (name, email) VALUES (?, ?)", users);
+    }
+
+    @Test
+    void exportStreamsAllUsersAsync() throws Exception {
+        MvcResult exportStarted = mockMvc.perform(get("/admin/users/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(exportStarted))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.length()").value(USERS))
+                .andExpect(jsonPath("$[0].email").value("user0@mail.ru"))
+                .andExpect(jsonPath("$[" + (USERS - 1) + "].email").value("user" + (USERS - 1) + "@mail.ru"));
+    }
+
+    @Test
+    void clientDisconnectStopsExportAndReleasesConnection() throws Exception {
+        DisconnectingOutputStream client = new DisconnectingOutputStream(BYTES_BEFORE_DISCONNECT);
+        StreamingResponseBody export = userController.exportUsers().getBody();
+
+        assertThrows(IOException.class, () -> export.writeTo(client));
+
+        assertTrue(client.getWrittenBytes() <= BYTES_BEFORE_DISCONNECT, "export kept writing after the client left");
+        assertEquals(0, ((HikariDataSource) dataSource).getHikariPoolMXBean().getActiveConnections());
+        MvcResult exportStarted = mockMvc.perform(get("/admin/users/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(exportStarted))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(USERS));
+    }
+
+    private static class DisconnectingOutputStream extends OutputStream {
+        private final int bytesBeforeDisconnect;
+        private int writtenBytes;
+
+        DisconnectingOutputStream(int bytesBeforeDisconnect) {
+            this.bytesBeforeDisconnect = bytesBeforeDisconnect;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (writtenBytes + len > bytesBeforeDisconnect) {
+                throw new IOException("Broken pipe");
+            }
+            writtenBytes += len;
+        }
+
+        int getWrittenBytes() {
+            return writtenBytes;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package ru.practicum.users;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.exception.model.ConflictRequestException;
+import ru.practicum.users.model.dto.UserDto;
+import ru.practicum.users.service.UserService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class UserRegistrationConcurrencyTest {
+    private static final int THREADS = 16;
+    private static final int ATTEMPTS = 64;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private UserService userService;
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM users");
+        executor = Executors.newFixedThreadPool(THREADS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void parallelRegistrationWithSameEmailCreatesSingleUser() throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (int i = 0; i < ATTEMPTS; i++) {
+            UserDto userDto = UserDto.builder().name("user" + i).email("same@mail.ru").build();
+            results.add(executor.submit(() -> {
+                start.await();
+                try {
+                    userService.addUser(userDto);
+                    return true;
+                } catch (ConflictRequestException e) {
+                    return false;
+                }
+            }));
+        }
+        start.countDown();
+
+        int created = 0;
+        for (Future<Boolean> result : results) {
+            if (getResult(result)) {
+                created++;
+            }
+        }
+
+        assertEquals(1, created);
+        assertEquals(1, countUsers());
+    }
+
+    @Test
+    void parallelRegistrationWithDistinctEmailsCreatesAllUsers() throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<UserDto>> results = new ArrayList<>();
+        for (int i = 0; i < ATTEMPTS; i++) {
+            UserDto userDto = UserDto.builder().name("user" + i).email("user" + i + "@mail.ru").build();
+            results.add(executor.submit(() -> {
+                start.await();
+                return userService.addUser(userDto);
+            }));
+        }
+        start.countDown();
+
+        for (Future<UserDto> result : results) {
+            getResult(result);
+        }
+
+        assertEquals(ATTEMPTS, countUsers());
+    }
+
+    @Test
+    void importWithAlreadyRegisteredEmailReturnsConflictAndSavesNothing() throws Exception {
+        userService.addUser(UserDto.builder().name("existing").email("existing@mail.ru").build());
+
+        mockMvc.perform(post("/admin/users/import")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"name\":\"first\",\"email\":\"first@mail.ru\"},"
+                                + "{\"name\":\"copy\",\"email\":\"existing@mail.ru\"}]"))
+                .andExpect(status().isConflict());
+
+        assertEquals(1, countUsers());
+    }
+
+    @Test
+    void importWithDuplicateEmailsInsideBatchReturnsConflictAndSavesNothing() throws Exception {
+        mockMvc.perform(post("/admin/users/import")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"name\":\"first\",\"email\":\"twice@mail.ru\"},"
+                                + "{\"name\":\"second\",\"email\":\"twice@mail.ru\"}]"))
+                .andExpect(status().isConflict());
+
+        assertEquals(0, countUsers());
+    }
+
+    private <T> T getResult(Future<T> result) throws InterruptedException, ExecutionException, TimeoutException {
+        return result.get(30, TimeUnit.SECONDS);
+    }
+
+    private int countUsers() {
+        Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Integer.class);
+        return count == null ? 0 : count;
+    }
+}
@@ -0,0 +1,73 @@
+package ru.practicum.utils;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.ResourceAccessException;
+import ru.practicum.client.StatisticClient;
+import ru.practicum.exception.model.StatisticUnavailableException;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+class EventViewsCacheTest {
+    @Autowired
+    private EventViewsCache viewsCache;
+    @MockBean
+    private StatisticClient statisticClient;
+
+    @Test
+    void failedLookupIsNotCached() {
+        long eventId = 1_000_001L;
+        when(statisticClient.getUniqueStatisticByEndpoints(any()))
+                .thenReturn(ResponseEntity.status(HttpStatus.BAD_REQUEST).body(new byte[0]));
+
+        assertEquals(0L, viewsCache.getAll(List.of(eventId)).get(eventId));
+
+        answerHits(eventId, 12);
+
+        assertEquals(12L, viewsCache.getAll(List.of(eventId)).get(eventId));
+    }
+
+    @Test
+    void unreachableStatisticServerIsNotCached() {
+        long eventId = 1_000_002L;
+        when(statisticClient.getUniqueStatisticByEventId(eventId))
+                .thenThrow(new ResourceAccessException("Connection refused"));
+
+        assertEquals(0L, viewsCache.get(eventId));
+
+        doReturn(ResponseEntity.ok(Map.of("app", "ewm", "uri", "/events/" + eventId, "hits", 5)))
+                .when(statisticClient).getUniqueStatisticByEventId(eventId);
+
+        assertEquals(5L, viewsCache.get(eventId));
+    }
+
+    @Test
+    void failedRefreshKeepsPreviousViews() {
+        long eventId = 1_000_003L;
+        answerHits(eventId, 12);
+        viewsCache.refreshAll(List.of(eventId));
+
+        when(statisticClient.getUniqueStatisticByEndpoints(any()))
+                .thenReturn(ResponseEntity.status(HttpStatus.BAD_REQUEST).body(new byte[0]));
+
+        assertThrows(StatisticUnavailableException.class, () -> viewsCache.refreshAll(List.of(eventId)));
+        assertEquals(12L, viewsCache.get(eventId));
+    }
+
+    private void answerHits(long eventId, int hits) {
+        when(statisticClient.getUniqueStatisticByEndpoints(any()))
+                .thenReturn(ResponseEntity.ok(List.of(Map.of("app", "ewm", "uri", "/events/" + eventId, "hits", hits))));
+    }
+}
@@ -0,0 +1,111 @@
+package ru.practicum.utils;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import ru.practicum.comment.model.Comment;
+import ru.practicum.comment.model.CommentReply;
+import ru.practicum.comment.model.dto.CommentDto;
+import ru.practicum.event.model.Event;
+import ru.practicum.users.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Tag("benchmark")
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperCommentTreeBenchmarkTest {
+    private static final int REPLIES_PER_COMMENT = 3;
+    private static final String LARGEST_TREE = "10000";
+    private static final double MIN_SPEEDUP_ON_LARGEST_TREE = 10.0;
+
+    @Param({"10", "1000", LARGEST_TREE})
+    private int commentsCount;
+
+    private List<Comment> comments;
+    private List<CommentReply> replies;
+
+    @Setup
+    public void createComments() {
+        User commentator = User.builder().id(1L).name("commentator").email("commentator@mail.ru").build();
+        Event event = Event.builder().id(1L).build();
+        comments = new ArrayList<>();
+        replies = new ArrayList<>();
+        for (long i = 1; i <= commentsCount; i++) {
+            Comment comment = Comment.builder()
+                    .id(i)
+                    .commentator(commentator)
+                    .event(event)
+                    .text("Comment " + i)
+                    .timestamp(LocalDateTime.now())
+                    .build();
+            comments.add(comment);
+            for (int j = 0; j < REPLIES_PER_COMMENT; j++) {
+                replies.add(CommentReply.builder()
+                        .id(i * REPLIES_PER_COMMENT + j)
+                        .commentator(commentator)
+                        .comment(comment)
+                        .text("Reply " + j + " to comment " + i)
+                        .timestamp(LocalDateTime.now())
+                        .build());
+            }
+        }
+    }
+
+    @Benchmark
+    public List<CommentDto> groupedReplies() {
+        return Mapper.convertCommentsToDto(comments, replies);
+    }
+
+    // the per-comment scan over all replies the mapper used before replies were grouped by comment id
+    @Benchmark
+    public List<CommentDto> scannedReplies() {
+        return comments.stream()
+                .map(comment -> Mapper.convertCommentToDto(comment, replies.stream()
+                        .filter(reply -> reply.getComment().getId() == comment.getId())
+                        .collect(Collectors.toList())))
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    void groupedRepliesScaleLinearly() throws Exception {
+        Collection<RunResult> results = new Runner(new OptionsBuilder()
+                .include(MapperCommentTreeBenchmarkTest.class.getSimpleName())
+                .build())
+                .run();
+
+        Map<String, Double> largestTreeScores = results.stream()
+                .filter(result -> LARGEST_TREE.equals(result.getParams().getParam("commentsCount")))
+                .collect(Collectors.toMap(result -> result.getParams().getBenchmark(),
+                        result -> result.getPrimaryResult().getScore()));
+        double grouped = largestTreeScores.get(MapperCommentTreeBenchmarkTest.class.getName() + ".groupedReplies");
+        double scanned = largestTreeScores.get(MapperCommentTreeBenchmarkTest.class.getName() + ".scannedReplies");
+        assertTrue(scanned >= grouped * MIN_SPEEDUP_ON_LARGEST_TREE,
+                "grouped replies took " + grouped + " us and scanned replies " + scanned + " us");
+    }
+}
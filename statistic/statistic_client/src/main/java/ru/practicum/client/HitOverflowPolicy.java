@@ -0,0 +1,5 @@
+package ru.practicum.client;
+
+public enum HitOverflowPolicy {
+    DROP_NEWEST, DROP_OLDEST, SEND_DIRECTLY
+}
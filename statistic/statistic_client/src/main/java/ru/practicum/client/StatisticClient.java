@@ -12,33 +12,65 @@ import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.dto.StatisticInfoDto;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 
 @Service
 public class StatisticClient {
     protected final RestTemplate rest;
+    private final RestTemplate directHitRest;
 
     @Autowired
-    public StatisticClient(@Value("${statistic_server.url}") String url, RestTemplateBuilder builder) {
+    public StatisticClient(@Value("${statistic_server.url}") String url, RestTemplateBuilder builder,
+                           @Value("${statistic_client.hits.direct-send-timeout-ms:200}") long directSendTimeoutMs) {
         this.rest = builder
                 .uriTemplateHandler(new DefaultUriBuilderFactory(url))
                 .requestFactory(HttpComponentsClientHttpRequestFactory::new)
                 .build();
+        // hits sent on overflow travel on the request thread, so they must not wait longer than it can afford
+        this.directHitRest = builder
+                .uriTemplateHandler(new DefaultUriBuilderFactory(url))
+                .requestFactory(HttpComponentsClientHttpRequestFactory::new)
+                .setConnectTimeout(Duration.ofMillis(directSendTimeoutMs))
+                .setReadTimeout(Duration.ofMillis(directSendTimeoutMs))
+                .build();
     }
 
     public void post(StatisticInfoDto body) {
         makeAndSendRequest(HttpMethod.POST, "/hit", null, body);
     }
 
+    public ResponseEntity<Object> postDirectly(StatisticInfoDto body) {
+        try {
+            return prepareStatisticResponse(directHitRest.exchange("/hit", HttpMethod.POST,
+                    new HttpEntity<>(body, defaultHeaders()), Object.class));
+        } catch (HttpStatusCodeException e) {
+            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
+        }
+    }
+
+    public ResponseEntity<Object> postAll(List<StatisticInfoDto> body) {
+        return makeAndSendRequest(HttpMethod.POST, "/hits", null, body);
+    }
+
     public ResponseEntity<Object> get(@Nullable Map<String, Object> parameters) {
         return makeAndSendRequest(HttpMethod.GET, "/stats", parameters, null);
     }
 
+    public ResponseEntity<Object> getExactStatistic(String start, String end) {
+        return makeAndSendRequest(HttpMethod.GET, "/stats?start={start}&end={end}&exact=true",
+                Map.of("start", start, "end", end), null);
+    }
+
     public ResponseEntity<Object> getUniqueStatisticByEventId(long eventId) {
         return makeAndSendRequest(HttpMethod.GET, "/stats/" + eventId, null, null);
     }
 
+    public ResponseEntity<Object> getUniqueStatisticByEndpoints(List<String> uris) {
+        return makeAndSendRequest(HttpMethod.POST, "/stats/endpoints", null, uris);
+    }
+
     private static ResponseEntity<Object> prepareStatisticResponse(ResponseEntity<Object> response) {
         if (response.getStatusCode().is2xxSuccessful()) {
             return response;
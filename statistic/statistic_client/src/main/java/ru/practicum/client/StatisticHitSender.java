@@ -0,0 +1,131 @@
+package ru.practicum.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import ru.practicum.dto.StatisticInfoDto;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+@Service
+@Slf4j
+public class StatisticHitSender {
+    private final StatisticClient statisticClient;
+    private final BlockingQueue<StatisticInfoDto> queue;
+    private final int batchSize;
+    private final HitOverflowPolicy overflowPolicy;
+    private final ScheduledExecutorService flusher;
+    private final Counter droppedHits;
+    private final Counter directHits;
+    private final Timer flushLatency;
+
+    public StatisticHitSender(StatisticClient statisticClient, MeterRegistry meterRegistry,
+                              @Value("${statistic_client.hits.queue-capacity:10000}") int queueCapacity,
+                              @Value("${statistic_client.hits.batch-size:500}") int batchSize,
+                              @Value("${statistic_client.hits.flush-interval-ms:1000}") long flushIntervalMs,
+                              @Value("${statistic_client.hits.overflow-policy:DROP_OLDEST}") HitOverflowPolicy overflowPolicy) {
+        this.statisticClient = statisticClient;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.overflowPolicy = overflowPolicy;
+        Gauge.builder("statistic.client.hits.queue.size", queue, BlockingQueue::size)
+                .description("Hits waiting to be sent to the statistic server.")
+                .register(meterRegistry);
+        this.droppedHits = Counter.builder("statistic.client.hits.dropped")
+                .description("Hits that were dropped because of queue overflow or failed delivery.")
+                .register(meterRegistry);
+        this.directHits = Counter.builder("statistic.client.hits.sent.directly")
+                .description("Hits that were sent on the request thread because of queue overflow.")
+                .register(meterRegistry);
+        this.flushLatency = Timer.builder("statistic.client.hits.flush")
+                .description("Time spent sending one batch of hits to the statistic server.")
+                .register(meterRegistry);
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "statistic-hit-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flush, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    public void send(StatisticInfoDto hit) {
+        if (queue.offer(hit)) {
+            return;
+        }
+        switch (overflowPolicy) {
+            case DROP_OLDEST:
+                if (queue.poll() != null) {
+                    droppedHits.increment();
+                }
+                if (!queue.offer(hit)) {
+                    droppedHits.increment();
+                }
+                break;
+            case SEND_DIRECTLY:
+                sendDirectly(hit);
+                break;
+            default:
+                droppedHits.increment();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        flusher.shutdown();
+        if (!flusher.awaitTermination(5, TimeUnit.SECONDS)) {
+            log.warn("Statistic hit flusher did not stop in time, {} hits may be lost.", queue.size());
+        }
+        flush();
+    }
+
+    private void flush() {
+        List<StatisticInfoDto> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            sendBatch(batch);
+            batch.clear();
+        }
+    }
+
+    private void sendDirectly(StatisticInfoDto hit) {
+        try {
+            ResponseEntity<Object> response = statisticClient.postDirectly(hit);
+            if (response.getStatusCode().is2xxSuccessful()) {
+                directHits.increment();
+            } else {
+                log.warn("Statistic server answered {} to hit sent on queue overflow, hit dropped.", response.getStatusCode());
+                droppedHits.increment();
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to send hit on queue overflow to statistic server: {}.", e.getMessage());
+            droppedHits.increment();
+        }
+    }
+
+    private void sendBatch(List<StatisticInfoDto> batch) {
+        long start = System.nanoTime();
+        try {
+            ResponseEntity<Object> response = statisticClient.postAll(batch);
+            if (!response.getStatusCode().is2xxSuccessful()) {
+                log.warn("Statistic server answered {} to batch of {} hits, batch dropped.", response.getStatusCode(), batch.size());
+                droppedHits.increment(batch.size());
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to send batch of {} hits to statistic server: {}.", batch.size(), e.getMessage());
+            droppedHits.increment(batch.size());
+        } finally {
+            flushLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
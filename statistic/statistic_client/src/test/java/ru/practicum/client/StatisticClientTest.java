@@ -0,0 +1,97 @@
+package ru.practicum.client;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.ResourceAccessException;
+import ru.practicum.dto.StatisticInfoDto;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StatisticClientTest {
+    private static final long DIRECT_SEND_TIMEOUT_MS = 200;
+
+    private HttpServer server;
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/hit", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(201, -1);
+            exchange.close();
+        });
+        server.createContext("/hits", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            exchange.sendResponseHeaders(201, -1);
+            exchange.close();
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        release.countDown();
+        server.stop(0);
+    }
+
+    @Test
+    void postDirectlyGivesUpAfterTimeout() {
+        StatisticClient client = createClient();
+
+        long start = System.nanoTime();
+        assertThrows(ResourceAccessException.class, () -> client.postDirectly(hit()));
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertTrue(elapsedMs < 5 * DIRECT_SEND_TIMEOUT_MS, "direct hit waited " + elapsedMs + " ms");
+    }
+
+    @Test
+    void postDirectlyReturnsServerAnswer() {
+        release.countDown();
+
+        ResponseEntity<Object> response = createClient().postDirectly(hit());
+
+        assertEquals(201, response.getStatusCodeValue());
+    }
+
+    @Test
+    void batchesAreNotLimitedByDirectSendTimeout() {
+        ResponseEntity<Object> response = createClient().postAll(List.of(hit()));
+
+        assertEquals(201, response.getStatusCodeValue());
+    }
+
+    private StatisticClient createClient() {
+        return new StatisticClient("http://localhost:" + server.getAddress().getPort(), new RestTemplateBuilder(),
+                DIRECT_SEND_TIMEOUT_MS);
+    }
+
+    private StatisticInfoDto hit() {
+        return StatisticInfoDto.builder()
+                .app("ewm")
+                .uri("/events/1")
+                .ip("10.0.0.1")
+                .timestamp("2026-10-18 12:00:00")
+                .build();
+    }
+}
@@ -0,0 +1,161 @@
+package ru.practicum.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.ResourceAccessException;
+import ru.practicum.dto.StatisticInfoDto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class StatisticHitSenderTest {
+    private static final long NEVER_FLUSH_MS = 3_600_000L;
+
+    private StatisticClient statisticClient;
+    private MeterRegistry meterRegistry;
+    private final List<List<String>> sentBatches = new ArrayList<>();
+
+    @BeforeEach
+    void createClient() {
+        statisticClient = mock(StatisticClient.class);
+        meterRegistry = new SimpleMeterRegistry();
+        sentBatches.clear();
+        // the sender reuses its batch list, so the uris are copied when the batch is sent
+        when(statisticClient.postAll(any())).thenAnswer(invocation -> {
+            List<StatisticInfoDto> batch = invocation.getArgument(0);
+            sentBatches.add(batch.stream().map(StatisticInfoDto::getUri).collect(Collectors.toList()));
+            return ResponseEntity.ok().build();
+        });
+    }
+
+    @Test
+    void hitsAreSentInBatchesOfConfiguredSize() throws Exception {
+        StatisticHitSender sender = createSender(10, 4, HitOverflowPolicy.DROP_OLDEST);
+        sendHits(sender, 0, 10);
+
+        sender.shutdown();
+
+        assertEquals(List.of(uris(0, 4), uris(4, 8), uris(8, 10)), sentBatches);
+        assertEquals(3, meterRegistry.get("statistic.client.hits.flush").timer().count());
+        assertEquals(0.0, meterRegistry.get("statistic.client.hits.dropped").counter().count());
+    }
+
+    @Test
+    void queueSizeIsBoundedAndReported() throws Exception {
+        StatisticHitSender sender = createSender(5, 100, HitOverflowPolicy.DROP_NEWEST);
+        sendHits(sender, 0, 3);
+
+        assertEquals(3.0, meterRegistry.get("statistic.client.hits.queue.size").gauge().value());
+
+        sendHits(sender, 3, 8);
+
+        assertEquals(5.0, meterRegistry.get("statistic.client.hits.queue.size").gauge().value());
+        sender.shutdown();
+        assertEquals(0.0, meterRegistry.get("statistic.client.hits.queue.size").gauge().value());
+    }
+
+    @Test
+    void dropOldestKeepsNewestHits() throws Exception {
+        StatisticHitSender sender = createSender(3, 100, HitOverflowPolicy.DROP_OLDEST);
+        sendHits(sender, 0, 5);
+
+        sender.shutdown();
+
+        assertEquals(List.of(uris(2, 5)), sentBatches);
+        assertEquals(2.0, meterRegistry.get("statistic.client.hits.dropped").counter().count());
+    }
+
+    @Test
+    void dropNewestKeepsOldestHits() throws Exception {
+        StatisticHitSender sender = createSender(3, 100, HitOverflowPolicy.DROP_NEWEST);
+        sendHits(sender, 0, 5);
+
+        sender.shutdown();
+
+        assertEquals(List.of(uris(0, 3)), sentBatches);
+        assertEquals(2.0, meterRegistry.get("statistic.client.hits.dropped").counter().count());
+    }
+
+    @Test
+    void sendDirectlyPostsOverflowingHits() throws Exception {
+        when(statisticClient.postDirectly(any())).thenReturn(ResponseEntity.status(HttpStatus.CREATED).build());
+        StatisticHitSender sender = createSender(2, 100, HitOverflowPolicy.SEND_DIRECTLY);
+        sendHits(sender, 0, 3);
+
+        ArgumentCaptor<StatisticInfoDto> directHit = ArgumentCaptor.forClass(StatisticInfoDto.class);
+        verify(statisticClient).postDirectly(directHit.capture());
+        assertEquals("/events/2", directHit.getValue().getUri());
+        assertEquals(1.0, meterRegistry.get("statistic.client.hits.sent.directly").counter().count());
+        sender.shutdown();
+        assertEquals(List.of(uris(0, 2)), sentBatches);
+    }
+
+    @Test
+    void sendDirectlyFailureDoesNotReachCaller() throws Exception {
+        when(statisticClient.postDirectly(any())).thenThrow(new ResourceAccessException("Read timed out"));
+        StatisticHitSender sender = createSender(1, 100, HitOverflowPolicy.SEND_DIRECTLY);
+        sendHits(sender, 0, 1);
+
+        assertDoesNotThrow(() -> sender.send(hit(1)));
+
+        assertEquals(1.0, meterRegistry.get("statistic.client.hits.dropped").counter().count());
+        assertEquals(0.0, meterRegistry.get("statistic.client.hits.sent.directly").counter().count());
+        sender.shutdown();
+        verify(statisticClient, never()).post(any());
+    }
+
+    @Test
+    void failedBatchIsCountedAsDropped() throws Exception {
+        doReturn(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build()).when(statisticClient).postAll(any());
+        StatisticHitSender sender = createSender(10, 4, HitOverflowPolicy.DROP_OLDEST);
+        sendHits(sender, 0, 6);
+
+        sender.shutdown();
+
+        verify(statisticClient, times(2)).postAll(any());
+        assertEquals(6.0, meterRegistry.get("statistic.client.hits.dropped").counter().count());
+    }
+
+    private StatisticHitSender createSender(int queueCapacity, int batchSize, HitOverflowPolicy overflowPolicy) {
+        return new StatisticHitSender(statisticClient, meterRegistry, queueCapacity, batchSize, NEVER_FLUSH_MS, overflowPolicy);
+    }
+
+    private void sendHits(StatisticHitSender sender, int from, int to) {
+        for (int i = from; i < to; i++) {
+            sender.send(hit(i));
+        }
+    }
+
+    private StatisticInfoDto hit(int number) {
+        return StatisticInfoDto.builder()
+                .app("ewm")
+                .uri("/events/" + number)
+                .ip("10.0.0." + number)
+                .timestamp("2026-10-18 12:00:00")
+                .build();
+    }
+
+    private List<String> uris(int from, int to) {
+        List<String> uris = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            uris.add("/events/" + i);
+        }
+        return uris;
+    }
+}
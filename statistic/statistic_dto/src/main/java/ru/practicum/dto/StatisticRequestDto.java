@@ -13,4 +13,5 @@ public class StatisticRequestDto {
     LocalDateTime end;
     List<String> uris;
     Boolean unique;
+    Boolean exact;
 }
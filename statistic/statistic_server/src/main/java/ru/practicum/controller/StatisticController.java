@@ -1,14 +1,21 @@
 package ru.practicum.controller;
 
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.dto.StatisticAnswerDto;
 import ru.practicum.dto.StatisticInfoDto;
 import ru.practicum.mapper.StatisticMapper;
+import ru.practicum.model.exception.BadRequestException;
 import ru.practicum.service.StatisticService;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
 import java.util.List;
 
 @RestController
@@ -16,6 +23,7 @@ import java.util.List;
 @Slf4j
 public class StatisticController {
     private final StatisticService service;
+    private final ObjectMapper objectMapper;
 
     @PostMapping("/hit")
     @ResponseStatus(code = HttpStatus.CREATED)
@@ -25,21 +33,80 @@ public class StatisticController {
         service.saveStatisticInfo(statisticInfoDto);
     }
 
+    @PostMapping(value = "/hits", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseStatus(code = HttpStatus.CREATED)
+    public void saveStatisticInformationList(@RequestBody List<StatisticInfoDto> statisticInfoDtoList) {
+        log.info("Received {} statistic information records to save.", statisticInfoDtoList.size());
+
+        service.saveStatisticInfoList(statisticInfoDtoList);
+    }
+
+    @PostMapping(value = "/hits", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    @ResponseStatus(code = HttpStatus.CREATED)
+    public void saveStatisticInformationStream(InputStream body) {
+        log.info("Received stream of statistic information records to save.");
+
+        try (MappingIterator<StatisticInfoDto> records = objectMapper.readerFor(StatisticInfoDto.class).readValues(body)) {
+            int savedCount = service.saveStatisticInfoStream(new Iterator<>() {
+                @Override
+                public boolean hasNext() {
+                    try {
+                        return records.hasNextValue();
+                    } catch (IOException e) {
+                        throw new BadRequestException("Incorrect statistic information record: " + e.getMessage());
+                    }
+                }
+
+                @Override
+                public StatisticInfoDto next() {
+                    try {
+                        return records.nextValue();
+                    } catch (IOException e) {
+                        throw new BadRequestException("Incorrect statistic information record: " + e.getMessage());
+                    }
+                }
+            });
+            log.info("Saved stream of {} statistic information records.", savedCount);
+        } catch (IOException e) {
+            throw new BadRequestException("Incorrect statistic information record: " + e.getMessage());
+        }
+    }
+
     @GetMapping("/stats")
     @ResponseStatus(code = HttpStatus.OK)
     public List<StatisticAnswerDto> getStatisticInformation(@RequestParam String start, @RequestParam String end,
-            @RequestParam(required = false) List<String> uris, @RequestParam(defaultValue = "false") Boolean unique) {
-        log.info("Received request to get statistic from {} to {} to URI: {} should be counted with unique IP: {}.",
-                start, end, uris, unique);
+            @RequestParam(required = false) List<String> uris, @RequestParam(defaultValue = "false") Boolean unique,
+            @RequestParam(defaultValue = "false") Boolean exact) {
+        log.info("Received request to get statistic from {} to {} to URI: {} should be counted with unique IP: {}, exact: {}.",
+                start, end, uris, unique, exact);
+
+        return service.getStatisticInfoByParameters(StatisticMapper.createStatisticRequestDto(start,end,uris,unique,exact));
+    }
+
+    @GetMapping("/stats/endpoints")
+    @ResponseStatus(code = HttpStatus.OK)
+    public List<StatisticAnswerDto> getStatisticInformationByEndpoints(@RequestParam List<String> uris,
+            @RequestParam(defaultValue = "false") Boolean exact) {
+        log.info("Received request to get unique statistic for {} endpoints.", uris.size());
+
+        return service.getStatisticForEndPoints(uris, exact);
+    }
+
+    @PostMapping(value = "/stats/endpoints", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseStatus(code = HttpStatus.OK)
+    public List<StatisticAnswerDto> getStatisticInformationByEndpointsList(@RequestBody List<String> uris,
+            @RequestParam(defaultValue = "false") Boolean exact) {
+        log.info("Received request to get unique statistic for {} endpoints.", uris.size());
 
-        return service.getStatisticInfoByParameters(StatisticMapper.createStatisticRequestDto(start,end,uris,unique));
+        return service.getStatisticForEndPoints(uris, exact);
     }
 
     @GetMapping("/stats/{url}")
     @ResponseStatus(code = HttpStatus.OK)
-    public StatisticAnswerDto getStatisticInformationByEventId(@PathVariable String url) {
+    public StatisticAnswerDto getStatisticInformationByEventId(@PathVariable String url,
+            @RequestParam(defaultValue = "false") Boolean exact) {
         log.info("Received request to get statistic for endpoint {}.", url);
 
-        return service.getStatisticForEndPoint(url);
+        return service.getStatisticForEndPoint(url, exact);
     }
 }
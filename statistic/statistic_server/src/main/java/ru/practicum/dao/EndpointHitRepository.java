@@ -11,9 +11,13 @@ public interface EndpointHitRepository {
 
     void saveStatisticInfo(EndpointHit endpointHit);
 
+    void saveAllStatisticInfo(List<EndpointHit> endpointHits);
+
     List<StatisticAnswerDto> getStatistic(List<String> uris, LocalDateTime start, LocalDateTime end);
 
     List<StatisticAnswerDto> getUniqueIpStatistic(List<String> uris, LocalDateTime start, LocalDateTime end);
 
     Optional<StatisticAnswerDto> getStatisticByEndpoint(String url);
+
+    List<StatisticAnswerDto> getStatisticByEndpoints(List<String> urls);
 }
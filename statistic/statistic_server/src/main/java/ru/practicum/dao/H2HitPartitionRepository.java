@@ -0,0 +1,27 @@
+package ru.practicum.dao;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.YearMonth;
+
+@Repository
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "spring.sql.init.platform", havingValue = "h2")
+public class H2HitPartitionRepository implements HitPartitionRepository {
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void createPartitions(YearMonth from, YearMonth to) {
+        // H2 keeps endpointhits as a single table
+    }
+
+    @Override
+    public void dropHitsBefore(YearMonth month) {
+        final String deleteQuery = "DELETE FROM endpointhits WHERE timestamp < ?";
+        jdbcTemplate.update(deleteQuery, Timestamp.valueOf(month.atDay(1).atStartOfDay()));
+    }
+}
@@ -0,0 +1,10 @@
+package ru.practicum.dao;
+
+import java.time.YearMonth;
+
+public interface HitPartitionRepository {
+
+    void createPartitions(YearMonth from, YearMonth to);
+
+    void dropHitsBefore(YearMonth month);
+}
@@ -0,0 +1,19 @@
+package ru.practicum.dao;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import ru.practicum.model.RollupGranularity;
+
+import java.time.LocalDateTime;
+
+@Getter
+@AllArgsConstructor
+class HitRange {
+    private final RollupGranularity granularity;
+    private final LocalDateTime from;
+    private final LocalDateTime to;
+
+    boolean isRaw() {
+        return granularity == null;
+    }
+}
@@ -0,0 +1,46 @@
+package ru.practicum.dao;
+
+import ru.practicum.model.RollupGranularity;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+class HitRangePlanner {
+    private HitRangePlanner() {
+    }
+
+    static List<HitRange> plan(LocalDateTime from, LocalDateTime to, List<RollupGranularity> levels,
+                               Map<RollupGranularity, LocalDateTime> watermarks) {
+        List<HitRange> ranges = new ArrayList<>();
+        plan(from, to, levels, levels.size() - 1, watermarks, ranges);
+        return ranges;
+    }
+
+    private static void plan(LocalDateTime from, LocalDateTime to, List<RollupGranularity> levels, int level,
+                             Map<RollupGranularity, LocalDateTime> watermarks, List<HitRange> ranges) {
+        if (!from.isBefore(to)) {
+            return;
+        }
+        if (level < 0) {
+            ranges.add(new HitRange(null, from, to));
+            return;
+        }
+        RollupGranularity granularity = levels.get(level);
+        LocalDateTime compactedUntil = watermarks.get(granularity);
+        if (compactedUntil == null) {
+            plan(from, to, levels, level - 1, watermarks, ranges);
+            return;
+        }
+        LocalDateTime bucketsFrom = granularity.ceil(from);
+        LocalDateTime bucketsTo = granularity.floor(compactedUntil.isBefore(to) ? compactedUntil : to);
+        if (!bucketsFrom.isBefore(bucketsTo)) {
+            plan(from, to, levels, level - 1, watermarks, ranges);
+            return;
+        }
+        plan(from, bucketsFrom, levels, level - 1, watermarks, ranges);
+        ranges.add(new HitRange(granularity, bucketsFrom, bucketsTo));
+        plan(bucketsTo, to, levels, level - 1, watermarks, ranges);
+    }
+}
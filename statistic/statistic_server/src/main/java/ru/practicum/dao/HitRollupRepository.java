@@ -0,0 +1,24 @@
+package ru.practicum.dao;
+
+import ru.practicum.dto.StatisticAnswerDto;
+import ru.practicum.model.RollupGranularity;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+public interface HitRollupRepository {
+
+    Map<RollupGranularity, LocalDateTime> lockWatermarks();
+
+    void saveWatermark(RollupGranularity granularity, LocalDateTime compactedUntil);
+
+    void lowerWatermarks(LocalDateTime hitTime);
+
+    Optional<LocalDateTime> getEarliestHitTime();
+
+    void compact(RollupGranularity granularity, LocalDateTime from, LocalDateTime to);
+
+    List<StatisticAnswerDto> getStatistic(List<String> uris, LocalDateTime start, LocalDateTime end);
+}
@@ -0,0 +1,16 @@
+package ru.practicum.dao;
+
+import ru.practicum.dto.StatisticAnswerDto;
+import ru.practicum.model.RollupGranularity;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface HitSketchRepository {
+
+    void compact(RollupGranularity granularity, LocalDateTime from, LocalDateTime to);
+
+    List<StatisticAnswerDto> getUniqueIpStatistic(List<String> uris, LocalDateTime start, LocalDateTime end);
+
+    List<StatisticAnswerDto> getStatisticByEndpoints(List<String> urls);
+}
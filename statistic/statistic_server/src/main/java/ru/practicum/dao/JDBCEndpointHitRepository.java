@@ -2,105 +2,72 @@ package ru.practicum.dao;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.jdbc.core.JdbcTemplate;
-import org.springframework.jdbc.support.GeneratedKeyHolder;
-import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Repository;
 import ru.practicum.dto.StatisticAnswerDto;
 import ru.practicum.model.EndpointHit;
 
-import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @Repository
 @RequiredArgsConstructor
 public class JDBCEndpointHitRepository implements EndpointHitRepository {
+    private static final String INSERT_QUERY = "INSERT INTO endpointhits (app, uri, ip, timestamp) VALUES (?, ?, ?, ?)";
+    private static final int BATCH_SIZE = 1000;
+
     private final JdbcTemplate jdbcTemplate;
 
     @Override
     public void saveStatisticInfo(EndpointHit endpointHit) {
-        final String sqlQuery = "INSERT INTO endpointhits (app, uri, ip, timestamp) "
-                + "VALUES (?, ?, ?, ?)";
-
-        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(INSERT_QUERY, endpointHit.getApp(), endpointHit.getUri(), endpointHit.getIp(),
+                Timestamp.valueOf(endpointHit.getHitTime()));
+    }
 
-        jdbcTemplate.update(connection -> {
-            PreparedStatement stmt = connection.prepareStatement(sqlQuery, new String[]{"id"});
+    @Override
+    public void saveAllStatisticInfo(List<EndpointHit> endpointHits) {
+        jdbcTemplate.batchUpdate(INSERT_QUERY, endpointHits, BATCH_SIZE, (stmt, endpointHit) -> {
             stmt.setString(1, endpointHit.getApp());
             stmt.setString(2, endpointHit.getUri());
             stmt.setString(3, endpointHit.getIp());
             stmt.setTimestamp(4, Timestamp.valueOf(endpointHit.getHitTime()));
-            return stmt;
-        }, keyHolder);
+        });
     }
 
     @Override
     public List<StatisticAnswerDto> getStatistic(List<String> uris, LocalDateTime start, LocalDateTime end) {
-        if (uris.isEmpty()) {
-            String sqlQueryWithoutUris = "SELECT app, uri, COUNT(ip) AS hits " +
-                    "FROM endpointhits " +
-                    "WHERE timestamp > ? AND timestamp < ? " +
-                    "GROUP BY uri, app " +
-                    "ORDER BY COUNT(ip) DESC";
-            return jdbcTemplate.query(sqlQueryWithoutUris, (rs, rowNum) -> makeAnswer(rs),
-                    Timestamp.valueOf(start), Timestamp.valueOf(end));
-        }
-        List<StatisticAnswerDto> returningList = new ArrayList<>();
+        UriFilter uriFilter = new UriFilter(uris);
         final String sqlQuery = "SELECT app, uri, COUNT(ip) AS hits " +
                 "FROM endpointhits " +
-                "WHERE uri LIKE ? AND timestamp > ? AND timestamp < ? " +
+                "WHERE timestamp > ? AND timestamp < ?" + uriFilter.getCondition() + " " +
                 "GROUP BY uri, app " +
                 "ORDER BY COUNT(ip) DESC";
-        for (String uri : uris) {
-            returningList.addAll(jdbcTemplate.query(sqlQuery, (rs, rowNum) -> makeAnswer(rs), uri,
-                    Timestamp.valueOf(start), Timestamp.valueOf(end)));
-        }
-
-        return returningList.stream()
-                .sorted(Comparator.comparingInt(StatisticAnswerDto::getHits).reversed())
-                .collect(Collectors.toList());
+        return jdbcTemplate.query(sqlQuery, (rs, rowNum) -> makeAnswer(rs),
+                makeArgs(start, end, uriFilter));
     }
 
     @Override
     public List<StatisticAnswerDto> getUniqueIpStatistic(List<String> uris, LocalDateTime start, LocalDateTime end) {
-        if (uris.isEmpty()) {
-            String sqlQueryWithoutUris = "SELECT app, uri, COUNT(DISTINCT(ip)) AS hits " +
-                    "FROM endpointhits " +
-                    "WHERE timestamp > ? AND timestamp < ? " +
-                    "GROUP BY uri, app " +
-                    "ORDER BY COUNT(DISTINCT(ip)) DESC";
-            return jdbcTemplate.query(sqlQueryWithoutUris, (rs, rowNum) -> makeAnswer(rs),
-                    Timestamp.valueOf(start), Timestamp.valueOf(end));
-        }
-        List<StatisticAnswerDto> returningList = new ArrayList<>();
-        final String sqlQueryByUris = "SELECT app, uri, COUNT(DISTINCT(ip)) AS hits " +
+        UriFilter uriFilter = new UriFilter(uris);
+        final String sqlQuery = "SELECT app, uri, COUNT(DISTINCT(ip)) AS hits " +
                 "FROM endpointhits " +
-                "WHERE uri LIKE ? AND timestamp > ? AND timestamp < ? " +
+                "WHERE timestamp > ? AND timestamp < ?" + uriFilter.getCondition() + " " +
                 "GROUP BY uri, app " +
                 "ORDER BY COUNT(DISTINCT(ip)) DESC";
-
-        for (String uri : uris) {
-            returningList.addAll(jdbcTemplate.query(sqlQueryByUris, (rs, rowNum) -> makeAnswer(rs), uri,
-                    Timestamp.valueOf(start), Timestamp.valueOf(end)));
-        }
-
-        return returningList.stream()
-                .sorted(Comparator.comparingInt(StatisticAnswerDto::getHits).reversed())
-                .collect(Collectors.toList());
+        return jdbcTemplate.query(sqlQuery, (rs, rowNum) -> makeAnswer(rs),
+                makeArgs(start, end, uriFilter));
     }
 
     @Override
     public Optional<StatisticAnswerDto> getStatisticByEndpoint(String url) {
         final String query = "SELECT app, uri, COUNT(DISTINCT(ip)) AS hits " +
                 "FROM endpointhits " +
-                "WHERE uri LIKE ? " +
+                "WHERE uri = ? " +
                 "GROUP BY uri, app";
         try {
             return Optional.ofNullable(jdbcTemplate.queryForObject(query, (rs, rowNum) -> makeAnswer(rs), url));
@@ -110,6 +77,26 @@ public class JDBCEndpointHitRepository implements EndpointHitRepository {
 
     }
 
+    @Override
+    public List<StatisticAnswerDto> getStatisticByEndpoints(List<String> urls) {
+        if (urls.isEmpty()) {
+            return new ArrayList<>();
+        }
+        final String query = "SELECT app, uri, COUNT(DISTINCT(ip)) AS hits " +
+                "FROM endpointhits " +
+                "WHERE uri IN (" + String.join(", ", Collections.nCopies(urls.size(), "?")) + ") " +
+                "GROUP BY uri, app";
+        return jdbcTemplate.query(query, (rs, rowNum) -> makeAnswer(rs), urls.toArray());
+    }
+
+    private Object[] makeArgs(LocalDateTime start, LocalDateTime end, UriFilter uriFilter) {
+        List<Object> args = new ArrayList<>();
+        args.add(Timestamp.valueOf(start));
+        args.add(Timestamp.valueOf(end));
+        args.addAll(uriFilter.getArgs());
+        return args.toArray();
+    }
+
     private StatisticAnswerDto makeAnswer(ResultSet rs) {
         try {
             return StatisticAnswerDto.builder()
@@ -0,0 +1,140 @@
+package ru.practicum.dao;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import ru.practicum.dto.StatisticAnswerDto;
+import ru.practicum.model.RollupGranularity;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@Repository
+@RequiredArgsConstructor
+public class JDBCHitRollupRepository implements HitRollupRepository {
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public Map<RollupGranularity, LocalDateTime> lockWatermarks() {
+        final String sqlQuery = "SELECT granularity, compacted_until FROM hit_rollup_watermarks " +
+                "ORDER BY granularity FOR UPDATE";
+        return queryWatermarks(sqlQuery);
+    }
+
+    @Override
+    public void saveWatermark(RollupGranularity granularity, LocalDateTime compactedUntil) {
+        final String updateQuery = "UPDATE hit_rollup_watermarks SET compacted_until = ? WHERE granularity = ?";
+        if (jdbcTemplate.update(updateQuery, Timestamp.valueOf(compactedUntil), granularity.name()) == 0) {
+            final String insertQuery = "INSERT INTO hit_rollup_watermarks (granularity, compacted_until) VALUES (?, ?)";
+            jdbcTemplate.update(insertQuery, granularity.name(), Timestamp.valueOf(compactedUntil));
+        }
+    }
+
+    @Override
+    public void lowerWatermarks(LocalDateTime hitTime) {
+        lockWatermarks();
+        final String sqlQuery = "UPDATE hit_rollup_watermarks SET compacted_until = ? " +
+                "WHERE granularity = ? AND compacted_until > ?";
+        for (RollupGranularity granularity : RollupGranularity.values()) {
+            jdbcTemplate.update(sqlQuery, Timestamp.valueOf(granularity.floor(hitTime)), granularity.name(),
+                    Timestamp.valueOf(hitTime));
+        }
+    }
+
+    @Override
+    public Optional<LocalDateTime> getEarliestHitTime() {
+        final String sqlQuery = "SELECT MIN(timestamp) FROM endpointhits";
+        return Optional.ofNullable(jdbcTemplate.queryForObject(sqlQuery, Timestamp.class))
+                .map(Timestamp::toLocalDateTime);
+    }
+
+    @Override
+    public void compact(RollupGranularity granularity, LocalDateTime from, LocalDateTime to) {
+        final String deleteQuery = "DELETE FROM hit_rollups " +
+                "WHERE granularity = ? AND bucket_start >= ? AND bucket_start < ?";
+        jdbcTemplate.update(deleteQuery, granularity.name(), Timestamp.valueOf(from), Timestamp.valueOf(to));
+
+        String bucket = "DATE_TRUNC('" + granularity.getSqlField() + "', %s)";
+        if (granularity.ordinal() == 0) {
+            String bucketStart = String.format(bucket, "timestamp");
+            final String insertQuery = "INSERT INTO hit_rollups (granularity, bucket_start, app, uri, hits) " +
+                    "SELECT '" + granularity.name() + "', " + bucketStart + ", app, uri, COUNT(ip) " +
+                    "FROM endpointhits " +
+                    "WHERE timestamp >= ? AND timestamp < ? " +
+                    "GROUP BY " + bucketStart + ", app, uri";
+            jdbcTemplate.update(insertQuery, Timestamp.valueOf(from), Timestamp.valueOf(to));
+            return;
+        }
+        RollupGranularity source = RollupGranularity.values()[granularity.ordinal() - 1];
+        String bucketStart = String.format(bucket, "bucket_start");
+        final String insertQuery = "INSERT INTO hit_rollups (granularity, bucket_start, app, uri, hits) " +
+                "SELECT '" + granularity.name() + "', " + bucketStart + ", app, uri, SUM(hits) " +
+                "FROM hit_rollups " +
+                "WHERE granularity = ? AND bucket_start >= ? AND bucket_start < ? " +
+                "GROUP BY " + bucketStart + ", app, uri";
+        jdbcTemplate.update(insertQuery, source.name(), Timestamp.valueOf(from), Timestamp.valueOf(to));
+    }
+
+    @Override
+    public List<StatisticAnswerDto> getStatistic(List<String> uris, LocalDateTime start, LocalDateTime end) {
+        final String watermarksQuery = "SELECT granularity, compacted_until FROM hit_rollup_watermarks";
+        // raw hits are selected with "timestamp >= ?", one microsecond keeps the request start exclusive
+        List<HitRange> ranges = HitRangePlanner.plan(start.plusNanos(1000), end, List.of(RollupGranularity.values()),
+                queryWatermarks(watermarksQuery));
+        if (ranges.isEmpty()) {
+            return new ArrayList<>();
+        }
+        UriFilter uriFilter = new UriFilter(uris);
+        List<String> parts = new ArrayList<>();
+        List<Object> args = new ArrayList<>();
+        for (HitRange range : ranges) {
+            if (range.isRaw()) {
+                parts.add("SELECT app, uri, COUNT(ip) AS hits " +
+                        "FROM endpointhits " +
+                        "WHERE timestamp >= ? AND timestamp < ?" + uriFilter.getCondition() + " " +
+                        "GROUP BY uri, app");
+            } else {
+                parts.add("SELECT app, uri, hits " +
+                        "FROM hit_rollups " +
+                        "WHERE granularity = ? AND bucket_start >= ? AND bucket_start < ?" + uriFilter.getCondition());
+                args.add(range.getGranularity().name());
+            }
+            args.add(Timestamp.valueOf(range.getFrom()));
+            args.add(Timestamp.valueOf(range.getTo()));
+            args.addAll(uriFilter.getArgs());
+        }
+        final String sqlQuery = "SELECT app, uri, SUM(hits) AS hits " +
+                "FROM (" + String.join(" UNION ALL ", parts) + ") AS parts " +
+                "GROUP BY uri, app " +
+                "ORDER BY SUM(hits) DESC";
+        return jdbcTemplate.query(sqlQuery, (rs, rowNum) -> makeAnswer(rs), args.toArray());
+    }
+
+    private Map<RollupGranularity, LocalDateTime> queryWatermarks(String sqlQuery) {
+        Map<RollupGranularity, LocalDateTime> watermarks = new EnumMap<>(RollupGranularity.class);
+        jdbcTemplate.query(sqlQuery, rs -> {
+            watermarks.put(RollupGranularity.valueOf(rs.getString("granularity")),
+                    rs.getTimestamp("compacted_until").toLocalDateTime());
+        });
+        return watermarks;
+    }
+
+    private StatisticAnswerDto makeAnswer(ResultSet rs) {
+        try {
+            return StatisticAnswerDto.builder()
+                    .app(rs.getString("app"))
+                    .uri(rs.getString("uri"))
+                    .hits(rs.getInt("hits"))
+                    .build();
+        } catch (SQLException e) {
+            throw new RuntimeException("Error getting statistic information.");
+        }
+    }
+}
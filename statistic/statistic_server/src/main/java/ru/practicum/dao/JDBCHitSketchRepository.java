@@ -0,0 +1,170 @@
+package ru.practicum.dao;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import ru.practicum.dto.StatisticAnswerDto;
+import ru.practicum.model.HyperLogLog;
+import ru.practicum.model.RollupGranularity;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Repository
+@RequiredArgsConstructor
+public class JDBCHitSketchRepository implements HitSketchRepository {
+    private static final List<RollupGranularity> SKETCH_LEVELS = List.of(RollupGranularity.HOUR, RollupGranularity.DAY);
+    private static final LocalDateTime ALL_TIME_START = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime ALL_TIME_END = LocalDateTime.of(3000, 1, 1, 0, 0);
+    private static final String INSERT_QUERY = "INSERT INTO hit_sketches (granularity, bucket_start, app, uri, registers) " +
+            "VALUES (?, ?, ?, ?, ?)";
+    private static final int BATCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void compact(RollupGranularity granularity, LocalDateTime from, LocalDateTime to) {
+        int level = SKETCH_LEVELS.indexOf(granularity);
+        if (level < 0) {
+            return;
+        }
+        final String deleteQuery = "DELETE FROM hit_sketches " +
+                "WHERE granularity = ? AND bucket_start >= ? AND bucket_start < ?";
+        jdbcTemplate.update(deleteQuery, granularity.name(), Timestamp.valueOf(from), Timestamp.valueOf(to));
+
+        Map<List<String>, HyperLogLog> sketches = new HashMap<>();
+        LocalDateTime[] bucketStart = new LocalDateTime[1];
+        if (level == 0) {
+            final String sqlQuery = "SELECT DISTINCT DATE_TRUNC('" + granularity.getSqlField() + "', timestamp) AS bucket_start, " +
+                    "app, uri, ip " +
+                    "FROM endpointhits " +
+                    "WHERE timestamp >= ? AND timestamp < ? " +
+                    "ORDER BY bucket_start";
+            jdbcTemplate.query(sqlQuery, rs -> {
+                LocalDateTime bucket = rs.getTimestamp("bucket_start").toLocalDateTime();
+                if (!bucket.equals(bucketStart[0])) {
+                    saveSketches(granularity, bucketStart[0], sketches);
+                    bucketStart[0] = bucket;
+                }
+                sketches.computeIfAbsent(List.of(rs.getString("app"), rs.getString("uri")), key -> new HyperLogLog())
+                        .add(rs.getString("ip"));
+            }, Timestamp.valueOf(from), Timestamp.valueOf(to));
+        } else {
+            final String sqlQuery = "SELECT bucket_start, app, uri, registers " +
+                    "FROM hit_sketches " +
+                    "WHERE granularity = ? AND bucket_start >= ? AND bucket_start < ? " +
+                    "ORDER BY bucket_start";
+            jdbcTemplate.query(sqlQuery, rs -> {
+                LocalDateTime bucket = granularity.floor(rs.getTimestamp("bucket_start").toLocalDateTime());
+                if (!bucket.equals(bucketStart[0])) {
+                    saveSketches(granularity, bucketStart[0], sketches);
+                    bucketStart[0] = bucket;
+                }
+                sketches.computeIfAbsent(List.of(rs.getString("app"), rs.getString("uri")), key -> new HyperLogLog())
+                        .merge(HyperLogLog.fromBytes(rs.getBytes("registers")));
+            }, SKETCH_LEVELS.get(level - 1).name(), Timestamp.valueOf(from), Timestamp.valueOf(to));
+        }
+        saveSketches(granularity, bucketStart[0], sketches);
+    }
+
+    @Override
+    public List<StatisticAnswerDto> getUniqueIpStatistic(List<String> uris, LocalDateTime start, LocalDateTime end) {
+        // raw hits are selected with "timestamp >= ?", one microsecond keeps the request start exclusive
+        List<HitRange> ranges = HitRangePlanner.plan(start.plusNanos(1000), end, SKETCH_LEVELS, getWatermarks());
+        Map<List<String>, HyperLogLog> sketches = new HashMap<>();
+        mergeSketches(ranges, new UriFilter(uris), sketches);
+        return makeAnswers(sketches);
+    }
+
+    @Override
+    public List<StatisticAnswerDto> getStatisticByEndpoints(List<String> urls) {
+        if (urls.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<HitRange> ranges = HitRangePlanner.plan(ALL_TIME_START, ALL_TIME_END, SKETCH_LEVELS, getWatermarks());
+        Map<List<String>, HyperLogLog> sketches = new HashMap<>();
+        mergeSketches(ranges, new UriFilter(urls), sketches);
+        return makeAnswers(sketches);
+    }
+
+    private void mergeSketches(List<HitRange> ranges, UriFilter uriFilter, Map<List<String>, HyperLogLog> sketches) {
+        List<String> sketchRanges = new ArrayList<>();
+        List<Object> sketchArgs = new ArrayList<>();
+        List<String> rawRanges = new ArrayList<>();
+        List<Object> rawArgs = new ArrayList<>();
+        for (HitRange range : ranges) {
+            if (range.isRaw()) {
+                rawRanges.add("(timestamp >= ? AND timestamp < ?)");
+            } else {
+                sketchRanges.add("(granularity = ? AND bucket_start >= ? AND bucket_start < ?)");
+                sketchArgs.add(range.getGranularity().name());
+            }
+            List<Object> args = range.isRaw() ? rawArgs : sketchArgs;
+            args.add(Timestamp.valueOf(range.getFrom()));
+            args.add(Timestamp.valueOf(range.getTo()));
+        }
+        if (!sketchRanges.isEmpty()) {
+            final String sqlQuery = "SELECT app, uri, registers " +
+                    "FROM hit_sketches " +
+                    "WHERE (" + String.join(" OR ", sketchRanges) + ")" + uriFilter.getCondition();
+            sketchArgs.addAll(uriFilter.getArgs());
+            jdbcTemplate.query(sqlQuery, rs -> {
+                sketches.computeIfAbsent(List.of(rs.getString("app"), rs.getString("uri")), key -> new HyperLogLog())
+                        .merge(HyperLogLog.fromBytes(rs.getBytes("registers")));
+            }, sketchArgs.toArray());
+        }
+        if (!rawRanges.isEmpty()) {
+            final String sqlQuery = "SELECT DISTINCT app, uri, ip " +
+                    "FROM endpointhits " +
+                    "WHERE (" + String.join(" OR ", rawRanges) + ")" + uriFilter.getCondition();
+            rawArgs.addAll(uriFilter.getArgs());
+            jdbcTemplate.query(sqlQuery, rs -> {
+                sketches.computeIfAbsent(List.of(rs.getString("app"), rs.getString("uri")), key -> new HyperLogLog())
+                        .add(rs.getString("ip"));
+            }, rawArgs.toArray());
+        }
+    }
+
+    private void saveSketches(RollupGranularity granularity, LocalDateTime bucketStart,
+                              Map<List<String>, HyperLogLog> sketches) {
+        if (sketches.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_QUERY, sketches.entrySet(), BATCH_SIZE, (stmt, sketch) -> {
+            stmt.setString(1, granularity.name());
+            stmt.setTimestamp(2, Timestamp.valueOf(bucketStart));
+            stmt.setString(3, sketch.getKey().get(0));
+            stmt.setString(4, sketch.getKey().get(1));
+            stmt.setBytes(5, sketch.getValue().toBytes());
+        });
+        sketches.clear();
+    }
+
+    private Map<RollupGranularity, LocalDateTime> getWatermarks() {
+        final String sqlQuery = "SELECT granularity, compacted_until FROM hit_rollup_watermarks";
+        Map<RollupGranularity, LocalDateTime> watermarks = new EnumMap<>(RollupGranularity.class);
+        jdbcTemplate.query(sqlQuery, rs -> {
+            watermarks.put(RollupGranularity.valueOf(rs.getString("granularity")),
+                    rs.getTimestamp("compacted_until").toLocalDateTime());
+        });
+        return watermarks;
+    }
+
+    private List<StatisticAnswerDto> makeAnswers(Map<List<String>, HyperLogLog> sketches) {
+        return sketches.entrySet().stream()
+                .map(sketch -> StatisticAnswerDto.builder()
+                        .app(sketch.getKey().get(0))
+                        .uri(sketch.getKey().get(1))
+                        .hits((int) sketch.getValue().estimate())
+                        .build())
+                .sorted(Comparator.comparingInt(StatisticAnswerDto::getHits).reversed())
+                .collect(Collectors.toList());
+    }
+}
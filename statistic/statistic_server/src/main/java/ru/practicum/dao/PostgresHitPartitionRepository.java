@@ -0,0 +1,61 @@
+package ru.practicum.dao;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+@Repository
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "spring.sql.init.platform", havingValue = "postgresql")
+public class PostgresHitPartitionRepository implements HitPartitionRepository {
+    private static final DateTimeFormatter PARTITION_NAME = DateTimeFormatter.ofPattern("'endpointhits_y'yyyy'm'MM");
+    private static final Pattern PARTITION_PATTERN = Pattern.compile("endpointhits_y(\\d{4})m(\\d{2})");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void createPartitions(YearMonth from, YearMonth to) {
+        for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+            final String sqlQuery = "CREATE TABLE IF NOT EXISTS " + month.format(PARTITION_NAME) + " " +
+                    "PARTITION OF endpointhits " +
+                    "FOR VALUES FROM ('" + month.atDay(1) + "') TO ('" + month.plusMonths(1).atDay(1) + "')";
+            try {
+                jdbcTemplate.execute(sqlQuery);
+            } catch (DataAccessException e) {
+                // rows of this month already landed in the default partition, they stay there until retention
+                log.warn("Could not create hits partition for {}: {}", month, e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void dropHitsBefore(YearMonth month) {
+        final String partitionsQuery = "SELECT c.relname " +
+                "FROM pg_inherits i " +
+                "JOIN pg_class c ON c.oid = i.inhrelid " +
+                "JOIN pg_class p ON p.oid = i.inhparent " +
+                "WHERE p.relname = 'endpointhits'";
+        List<String> partitions = jdbcTemplate.queryForList(partitionsQuery, String.class);
+        for (String partition : partitions) {
+            Matcher matcher = PARTITION_PATTERN.matcher(partition);
+            if (matcher.matches()
+                    && YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2))).isBefore(month)) {
+                log.info("Dropping hits partition {}.", partition);
+                jdbcTemplate.execute("DROP TABLE " + partition);
+            }
+        }
+        final String deleteQuery = "DELETE FROM endpointhits_default WHERE timestamp < ?";
+        jdbcTemplate.update(deleteQuery, Timestamp.valueOf(month.atDay(1).atStartOfDay()));
+    }
+}
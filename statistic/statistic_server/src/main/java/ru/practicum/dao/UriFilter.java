@@ -0,0 +1,48 @@
+package ru.practicum.dao;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+@Getter
+class UriFilter {
+    // only a trailing asterisk asks for every uri with that prefix, "%" and "_" in uris are matched literally
+    private static final String PREFIX_MARKER = "*";
+    private static final char LIKE_ESCAPE = '\\';
+
+    private final String condition;
+    private final List<Object> args = new ArrayList<>();
+
+    UriFilter(List<String> uris) {
+        List<String> prefixes = new ArrayList<>();
+        for (String uri : uris) {
+            if (uri.endsWith(PREFIX_MARKER)) {
+                prefixes.add(uri.substring(0, uri.length() - PREFIX_MARKER.length()));
+            } else {
+                args.add(uri);
+            }
+        }
+        List<String> conditions = new ArrayList<>();
+        if (!args.isEmpty()) {
+            conditions.add("uri IN (" + String.join(", ", Collections.nCopies(args.size(), "?")) + ")");
+        }
+        for (String prefix : prefixes) {
+            conditions.add("uri LIKE ? ESCAPE '" + LIKE_ESCAPE + "'");
+            args.add(escapeLikePattern(prefix) + "%");
+        }
+        condition = conditions.isEmpty() ? "" : " AND (" + String.join(" OR ", conditions) + ")";
+    }
+
+    private static String escapeLikePattern(String value) {
+        StringBuilder pattern = new StringBuilder(value.length());
+        for (char symbol : value.toCharArray()) {
+            if (symbol == LIKE_ESCAPE || symbol == '%' || symbol == '_') {
+                pattern.append(LIKE_ESCAPE);
+            }
+            pattern.append(symbol);
+        }
+        return pattern.toString();
+    }
+}
@@ -25,7 +25,8 @@ public class StatisticMapper {
                 .build();
     }
 
-    public static StatisticRequestDto createStatisticRequestDto(String start, String end, List<String> uris, Boolean unique) {
+    public static StatisticRequestDto createStatisticRequestDto(String start, String end, List<String> uris, Boolean unique,
+                                                                Boolean exact) {
         if (uris == null) {
             uris = new ArrayList<>();
         }
@@ -34,6 +35,7 @@ public class StatisticMapper {
                 .end(LocalDateTime.parse(end, formatter))
                 .uris(uris)
                 .unique(unique)
+                .exact(exact)
                 .build();
     }
 }
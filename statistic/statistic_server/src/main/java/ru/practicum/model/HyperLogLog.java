@@ -0,0 +1,123 @@
+package ru.practicum.model;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Set;
+
+public class HyperLogLog {
+    private static final int PRECISION = 12;
+    private static final int REGISTERS = 1 << PRECISION;
+    private static final double ALPHA = 0.7213 / (1 + 1.079 / REGISTERS);
+    // while small the sketch keeps 64-bit hashes, so counts stay exact for rarely visited endpoints
+    private static final int SPARSE_LIMIT = 256;
+    private static final byte SPARSE = 0;
+    private static final byte DENSE = 1;
+
+    private Set<Long> hashes = new HashSet<>();
+    private byte[] registers;
+
+    public static HyperLogLog fromBytes(byte[] bytes) {
+        HyperLogLog sketch = new HyperLogLog();
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        if (buffer.get() == DENSE) {
+            sketch.hashes = null;
+            sketch.registers = new byte[REGISTERS];
+            buffer.get(sketch.registers);
+            return sketch;
+        }
+        int size = buffer.getInt();
+        for (int i = 0; i < size; i++) {
+            sketch.hashes.add(buffer.getLong());
+        }
+        return sketch;
+    }
+
+    public void add(String value) {
+        addHash(hash(value));
+    }
+
+    public void merge(HyperLogLog other) {
+        if (other.registers == null) {
+            other.hashes.forEach(this::addHash);
+            return;
+        }
+        if (registers == null) {
+            toDense();
+        }
+        for (int i = 0; i < REGISTERS; i++) {
+            if (other.registers[i] > registers[i]) {
+                registers[i] = other.registers[i];
+            }
+        }
+    }
+
+    public long estimate() {
+        if (registers == null) {
+            return hashes.size();
+        }
+        double sum = 0;
+        int zeros = 0;
+        for (byte register : registers) {
+            sum += 1.0 / (1L << register);
+            if (register == 0) {
+                zeros++;
+            }
+        }
+        double estimate = ALPHA * REGISTERS * REGISTERS / sum;
+        if (estimate <= 2.5 * REGISTERS && zeros > 0) {
+            estimate = REGISTERS * Math.log((double) REGISTERS / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    public byte[] toBytes() {
+        if (registers != null) {
+            return ByteBuffer.allocate(1 + REGISTERS)
+                    .put(DENSE)
+                    .put(registers)
+                    .array();
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(1 + Integer.BYTES + hashes.size() * Long.BYTES)
+                .put(SPARSE)
+                .putInt(hashes.size());
+        hashes.forEach(buffer::putLong);
+        return buffer.array();
+    }
+
+    private void addHash(long hash) {
+        if (registers == null) {
+            hashes.add(hash);
+            if (hashes.size() > SPARSE_LIMIT) {
+                toDense();
+            }
+            return;
+        }
+        int index = (int) (hash >>> (Long.SIZE - PRECISION));
+        byte rank = (byte) (Long.numberOfLeadingZeros((hash << PRECISION) | (1L << (PRECISION - 1))) + 1);
+        if (rank > registers[index]) {
+            registers[index] = rank;
+        }
+    }
+
+    private void toDense() {
+        Set<Long> sparseHashes = hashes;
+        hashes = null;
+        registers = new byte[REGISTERS];
+        sparseHashes.forEach(this::addHash);
+    }
+
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
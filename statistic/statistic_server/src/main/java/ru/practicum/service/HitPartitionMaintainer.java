@@ -0,0 +1,33 @@
+package ru.practicum.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.practicum.dao.HitPartitionRepository;
+
+import java.time.YearMonth;
+import java.util.Optional;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class HitPartitionMaintainer {
+    private final HitPartitionRepository partitionRepository;
+    private final HitRetentionPolicy retentionPolicy;
+
+    @Value("${statistic_server.partitions.months-ahead}")
+    private int monthsAhead;
+
+    @Scheduled(fixedDelayString = "${statistic_server.partitions.maintenance-interval-ms}")
+    public void maintain() {
+        YearMonth currentMonth = YearMonth.now();
+        partitionRepository.createPartitions(currentMonth, currentMonth.plusMonths(monthsAhead));
+        Optional<YearMonth> keptFrom = retentionPolicy.getKeptFromMonth();
+        if (keptFrom.isPresent()) {
+            log.info("Dropping hits recorded before {}.", keptFrom.get());
+            partitionRepository.dropHitsBefore(keptFrom.get());
+        }
+    }
+}
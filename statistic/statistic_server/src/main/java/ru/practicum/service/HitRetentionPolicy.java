@@ -0,0 +1,30 @@
+package ru.practicum.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Optional;
+
+@Component
+public class HitRetentionPolicy {
+    @Value("${statistic_server.partitions.retention-months}")
+    private int retentionMonths;
+
+    public Optional<YearMonth> getKeptFromMonth() {
+        if (retentionMonths <= 0) {
+            return Optional.empty();
+        }
+        return Optional.of(YearMonth.now().minusMonths(retentionMonths));
+    }
+
+    public Optional<LocalDateTime> getHorizon() {
+        return getKeptFromMonth().map(month -> month.atDay(1).atStartOfDay());
+    }
+
+    public boolean isExpired(LocalDateTime hitTime) {
+        Optional<LocalDateTime> horizon = getHorizon();
+        return horizon.isPresent() && hitTime.isBefore(horizon.get());
+    }
+}
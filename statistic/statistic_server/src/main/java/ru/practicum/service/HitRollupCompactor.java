@@ -0,0 +1,70 @@
+package ru.practicum.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.practicum.dao.HitRollupRepository;
+import ru.practicum.dao.HitSketchRepository;
+import ru.practicum.model.RollupGranularity;
+
+import javax.transaction.Transactional;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class HitRollupCompactor {
+    private final HitRollupRepository rollupRepository;
+    private final HitSketchRepository sketchRepository;
+    private final HitRetentionPolicy retentionPolicy;
+
+    @Value("${statistic_server.rollup.lag-seconds}")
+    private long lagSeconds;
+
+    @Value("${statistic_server.rollup.max-compaction-span-hours}")
+    private long maxCompactionSpanHours;
+
+    @Scheduled(fixedDelayString = "${statistic_server.rollup.compaction-interval-ms}")
+    @Transactional
+    public void compact() {
+        Map<RollupGranularity, LocalDateTime> watermarks = rollupRepository.lockWatermarks();
+        LocalDateTime sourceCompactedUntil = LocalDateTime.now().minusSeconds(lagSeconds);
+        Optional<LocalDateTime> horizon = retentionPolicy.getHorizon();
+        LocalDateTime earliestHitTime = null;
+        for (RollupGranularity granularity : RollupGranularity.values()) {
+            LocalDateTime to = granularity.floor(sourceCompactedUntil);
+            LocalDateTime from = watermarks.get(granularity);
+            if (from == null) {
+                if (earliestHitTime == null) {
+                    earliestHitTime = rollupRepository.getEarliestHitTime().orElse(to);
+                }
+                from = granularity.floor(earliestHitTime);
+            }
+            // raw hits before the retention horizon are dropped, rebuilding those buckets would erase them
+            if (horizon.isPresent() && from.isBefore(horizon.get())) {
+                from = granularity.floor(horizon.get());
+            }
+            if (from.isAfter(to)) {
+                from = to;
+            }
+            // long spans are compacted over several runs to keep the watermarks lock short
+            LocalDateTime spanEnd = granularity.floor(from.plusHours(maxCompactionSpanHours));
+            if (spanEnd.isAfter(from) && spanEnd.isBefore(to)) {
+                to = spanEnd;
+            }
+            if (from.isBefore(to)) {
+                log.info("Compacting {} hit rollups from {} to {}.", granularity, from, to);
+                rollupRepository.compact(granularity, from, to);
+                sketchRepository.compact(granularity, from, to);
+            }
+            if (!to.equals(watermarks.get(granularity))) {
+                rollupRepository.saveWatermark(granularity, to);
+            }
+            sourceCompactedUntil = to;
+        }
+    }
+}
@@ -2,12 +2,19 @@ package ru.practicum.service;
 
 import ru.practicum.dto.*;
 
+import java.util.Iterator;
 import java.util.List;
 
 public interface StatisticService {
     void saveStatisticInfo(StatisticInfoDto statisticInfoDto);
 
+    void saveStatisticInfoList(List<StatisticInfoDto> statisticInfoDtoList);
+
+    int saveStatisticInfoStream(Iterator<StatisticInfoDto> statisticInfoDtoIterator);
+
     List<StatisticAnswerDto> getStatisticInfoByParameters(StatisticRequestDto statisticRequestDto);
 
-    StatisticAnswerDto getStatisticForEndPoint(String endPoint);
+    StatisticAnswerDto getStatisticForEndPoint(String endPoint, boolean exact);
+
+    List<StatisticAnswerDto> getStatisticForEndPoints(List<String> endPoints, boolean exact);
 }
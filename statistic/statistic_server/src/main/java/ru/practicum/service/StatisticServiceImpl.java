@@ -3,28 +3,86 @@ package ru.practicum.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import ru.practicum.dao.EndpointHitRepository;
+import ru.practicum.dao.HitRollupRepository;
+import ru.practicum.dao.HitSketchRepository;
 import ru.practicum.dto.*;
 import ru.practicum.mapper.StatisticMapper;
+import ru.practicum.model.EndpointHit;
 import ru.practicum.model.exception.BadRequestException;
 
 import javax.transaction.Transactional;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class StatisticServiceImpl implements StatisticService {
+    private static final int STREAM_BATCH_SIZE = 1000;
+
     private final EndpointHitRepository repository;
+    private final HitRollupRepository rollupRepository;
+    private final HitSketchRepository sketchRepository;
+    private final HitRetentionPolicy retentionPolicy;
+
+    @Value("${statistic_server.rollup.lag-seconds}")
+    private long rollupLagSeconds;
 
     @Override
     @Transactional
     public void saveStatisticInfo(StatisticInfoDto statisticInfoDto) {
         log.info("Sending to dao statistic information to add.");
 
-        repository.saveStatisticInfo(StatisticMapper.convertToEndpointHit(statisticInfoDto));
+        EndpointHit endpointHit = StatisticMapper.convertToEndpointHit(statisticInfoDto);
+        if (retentionPolicy.isExpired(endpointHit.getHitTime())) {
+            throw new BadRequestException("Hit time " + endpointHit.getHitTime() + " is older than statistic retention period.");
+        }
+        repository.saveStatisticInfo(endpointHit);
+        invalidateCompactedRollups(List.of(endpointHit));
+    }
+
+    @Override
+    @Transactional
+    public void saveStatisticInfoList(List<StatisticInfoDto> statisticInfoDtoList) {
+        log.info("Sending to dao {} statistic information records to add.", statisticInfoDtoList.size());
+
+        List<EndpointHit> endpointHits = statisticInfoDtoList.stream()
+                .map(StatisticMapper::convertToEndpointHit)
+                .filter(endpointHit -> !retentionPolicy.isExpired(endpointHit.getHitTime()))
+                .collect(Collectors.toList());
+        if (endpointHits.size() < statisticInfoDtoList.size()) {
+            log.warn("Skipped {} statistic information records older than statistic retention period.",
+                    statisticInfoDtoList.size() - endpointHits.size());
+        }
+        if (endpointHits.isEmpty()) {
+            return;
+        }
+        repository.saveAllStatisticInfo(endpointHits);
+        invalidateCompactedRollups(endpointHits);
+    }
+
+    @Override
+    @Transactional
+    public int saveStatisticInfoStream(Iterator<StatisticInfoDto> statisticInfoDtoIterator) {
+        int savedCount = 0;
+        List<StatisticInfoDto> batch = new ArrayList<>(STREAM_BATCH_SIZE);
+        while (statisticInfoDtoIterator.hasNext()) {
+            batch.add(statisticInfoDtoIterator.next());
+            if (batch.size() == STREAM_BATCH_SIZE || !statisticInfoDtoIterator.hasNext()) {
+                saveStatisticInfoList(batch);
+                savedCount += batch.size();
+                batch.clear();
+            }
+        }
+        return savedCount;
     }
 
     @Override
@@ -34,17 +92,25 @@ public class StatisticServiceImpl implements StatisticService {
             throw new BadRequestException("Incorrect time in request.");
         }
         log.info("Sending to dao request to get statistic information.");
+        if (statisticRequestDto.getExact()) {
+            if (statisticRequestDto.getUnique()) {
+                return repository.getUniqueIpStatistic(statisticRequestDto.getUris(), statisticRequestDto.getStart(), statisticRequestDto.getEnd());
+            }
+            return repository.getStatistic(statisticRequestDto.getUris(), statisticRequestDto.getStart(), statisticRequestDto.getEnd());
+        }
         if (statisticRequestDto.getUnique()) {
-            return repository.getUniqueIpStatistic(statisticRequestDto.getUris(), statisticRequestDto.getStart(), statisticRequestDto.getEnd());
+            return sketchRepository.getUniqueIpStatistic(statisticRequestDto.getUris(), statisticRequestDto.getStart(), statisticRequestDto.getEnd());
         }
-        return repository.getStatistic(statisticRequestDto.getUris(), statisticRequestDto.getStart(), statisticRequestDto.getEnd());
+        return rollupRepository.getStatistic(statisticRequestDto.getUris(), statisticRequestDto.getStart(), statisticRequestDto.getEnd());
     }
 
     @Override
-    public StatisticAnswerDto getStatisticForEndPoint(String endPoint) {
+    public StatisticAnswerDto getStatisticForEndPoint(String endPoint, boolean exact) {
         log.info("Sending to dao request to get endpoint {} statistic information.", endPoint);
         endPoint = "/events/" + endPoint;
-        Optional<StatisticAnswerDto> result = repository.getStatisticByEndpoint(endPoint);
+        Optional<StatisticAnswerDto> result = exact
+                ? repository.getStatisticByEndpoint(endPoint)
+                : sketchRepository.getStatisticByEndpoints(List.of(endPoint)).stream().findFirst();
         if (result.isPresent()) {
             return result.get();
         }
@@ -54,4 +120,24 @@ public class StatisticServiceImpl implements StatisticService {
                 .uri(endPoint)
                 .build();
     }
+
+    @Override
+    public List<StatisticAnswerDto> getStatisticForEndPoints(List<String> endPoints, boolean exact) {
+        log.info("Sending to dao request to get statistic information for {} endpoints.", endPoints.size());
+        if (exact) {
+            return repository.getStatisticByEndpoints(endPoints);
+        }
+        return sketchRepository.getStatisticByEndpoints(endPoints);
+    }
+
+    private void invalidateCompactedRollups(List<EndpointHit> endpointHits) {
+        Optional<LocalDateTime> earliestHitTime = endpointHits.stream()
+                .map(EndpointHit::getHitTime)
+                .min(Comparator.naturalOrder());
+        if (earliestHitTime.isPresent()
+                && earliestHitTime.get().isBefore(LocalDateTime.now().minusSeconds(rollupLagSeconds / 2))) {
+            log.info("Received late hits from {}, sending to dao request to recompact hit rollups.", earliestHitTime.get());
+            rollupRepository.lowerWatermarks(earliestHitTime.get());
+        }
+    }
 }
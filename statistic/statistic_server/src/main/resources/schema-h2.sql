@@ -0,0 +1,11 @@
+DROP TABLE IF EXISTS endpointhits;
+
+CREATE TABLE IF NOT EXISTS endpointhits(
+    id bigint generated by default as identity primary key,
+    app varchar(50) not null,
+    uri varchar(50) not null,
+    ip varchar(50) not null,
+    timestamp timestamp not null
+);
+CREATE INDEX IF NOT EXISTS endpointhits_uri_timestamp_idx ON endpointhits (uri, timestamp);
+CREATE INDEX IF NOT EXISTS endpointhits_timestamp_idx ON endpointhits (timestamp);
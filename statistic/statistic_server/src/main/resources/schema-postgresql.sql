@@ -0,0 +1,13 @@
+DROP TABLE IF EXISTS endpointhits;
+
+CREATE TABLE IF NOT EXISTS endpointhits(
+    id bigserial,
+    app varchar(50) not null,
+    uri varchar(50) not null,
+    ip varchar(50) not null,
+    timestamp timestamp not null,
+    primary key (id, timestamp)
+) PARTITION BY RANGE (timestamp);
+CREATE TABLE IF NOT EXISTS endpointhits_default PARTITION OF endpointhits DEFAULT;
+CREATE INDEX IF NOT EXISTS endpointhits_uri_timestamp_idx ON endpointhits (uri, timestamp);
+CREATE INDEX IF NOT EXISTS endpointhits_timestamp_idx ON endpointhits (timestamp);
@@ -1,9 +1,26 @@
-DROP TABLE IF EXISTS endpointhits;
+DROP TABLE IF EXISTS hit_rollups;
+DROP TABLE IF EXISTS hit_rollup_watermarks;
+DROP TABLE IF EXISTS hit_sketches;
 
-CREATE TABLE IF NOT EXISTS endpointhits(
-    id integer generated by default as identity primary key,
+CREATE TABLE IF NOT EXISTS hit_rollups(
+    granularity varchar(10) not null,
+    bucket_start timestamp not null,
     app varchar(50) not null,
     uri varchar(50) not null,
-    ip varchar(50) not null,
-    timestamp timestamp not null
-);
\ No newline at end of file
+    hits bigint not null,
+    primary key (granularity, bucket_start, app, uri)
+);
+CREATE INDEX IF NOT EXISTS hit_rollups_uri_idx ON hit_rollups (granularity, uri, bucket_start);
+CREATE TABLE IF NOT EXISTS hit_sketches(
+    granularity varchar(10) not null,
+    bucket_start timestamp not null,
+    app varchar(50) not null,
+    uri varchar(50) not null,
+    registers bytea not null,
+    primary key (granularity, bucket_start, app, uri)
+);
+CREATE INDEX IF NOT EXISTS hit_sketches_uri_idx ON hit_sketches (granularity, uri, bucket_start);
+CREATE TABLE IF NOT EXISTS hit_rollup_watermarks(
+    granularity varchar(10) primary key,
+    compacted_until timestamp not null
+);
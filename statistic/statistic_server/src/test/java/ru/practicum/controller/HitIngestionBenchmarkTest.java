@@ -0,0 +1,104 @@
+package ru.practicum.controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.mapper.StatisticMapper;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@Tag("benchmark")
+@SpringBootTest
+@AutoConfigureMockMvc
+class HitIngestionBenchmarkTest {
+    private static final int HITS = 20_000;
+    private static final int JSON_BATCH_SIZE = 500;
+    private static final double MIN_BATCHED_SPEEDUP = 3.0;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private List<String> records;
+
+    @BeforeEach
+    void createRecords() {
+        jdbcTemplate.update("DELETE FROM endpointhits");
+        String timestamp = LocalDateTime.now().format(StatisticMapper.formatter);
+        records = new ArrayList<>();
+        for (int i = 0; i < HITS; i++) {
+            records.add("{\"app\":\"ewm\",\"uri\":\"/events/" + i % 100 + "\",\"ip\":\"10.0." + i / 250 % 250 + "." + i % 250
+                    + "\",\"timestamp\":\"" + timestamp + "\"}");
+        }
+    }
+
+    @Test
+    void batchedIngestionOutperformsSingleHits() throws Exception {
+        // warms up all three paths before measuring
+        ingestSingle(records.subList(0, 1000));
+        ingestJsonArrays(records.subList(0, 1000));
+        ingestNdjson(records.subList(0, 1000));
+        jdbcTemplate.update("DELETE FROM endpointhits");
+
+        double single = measureThroughput(() -> ingestSingle(records));
+        double jsonArrays = measureThroughput(() -> ingestJsonArrays(records));
+        double ndjson = measureThroughput(() -> ingestNdjson(records));
+
+        System.out.printf("Hit ingestion of %,d hits, hits/s: POST /hit %.0f, POST /hits JSON arrays of %d %.0f, "
+                + "POST /hits NDJSON %.0f%n", HITS, single, JSON_BATCH_SIZE, jsonArrays, ndjson);
+        assertTrue(jsonArrays >= single * MIN_BATCHED_SPEEDUP, "JSON arrays reached " + jsonArrays + " hits/s");
+        assertTrue(ndjson >= single * MIN_BATCHED_SPEEDUP, "NDJSON reached " + ndjson + " hits/s");
+    }
+
+    private double measureThroughput(Ingestion ingestion) throws Exception {
+        jdbcTemplate.update("DELETE FROM endpointhits");
+        long start = System.nanoTime();
+        ingestion.run();
+        long elapsed = System.nanoTime() - start;
+        assertEquals(HITS, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM endpointhits", Integer.class));
+        return HITS * 1_000_000_000.0 / elapsed;
+    }
+
+    private void ingestSingle(List<String> hits) throws Exception {
+        for (String hit : hits) {
+            mockMvc.perform(post("/hit")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(hit))
+                    .andExpect(status().isCreated());
+        }
+    }
+
+    private void ingestJsonArrays(List<String> hits) throws Exception {
+        for (int from = 0; from < hits.size(); from += JSON_BATCH_SIZE) {
+            mockMvc.perform(post("/hits")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("[" + String.join(",", hits.subList(from, Math.min(from + JSON_BATCH_SIZE, hits.size()))) + "]"))
+                    .andExpect(status().isCreated());
+        }
+    }
+
+    private void ingestNdjson(List<String> hits) throws Exception {
+        mockMvc.perform(post("/hits")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(String.join("\n", hits) + "\n"))
+                .andExpect(status().isCreated());
+    }
+
+    private interface Ingestion {
+        void run() throws Exception;
+    }
+}
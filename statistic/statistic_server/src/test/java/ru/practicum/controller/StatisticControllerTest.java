@@ -0,0 +1,90 @@
+package ru.practicum.controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.mapper.StatisticMapper;
+
+import java.time.LocalDateTime;
+
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class StatisticControllerTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void clearHits() {
+        jdbcTemplate.update("DELETE FROM endpointhits");
+    }
+
+    @Test
+    void saveStatisticInformationStreamSavesAllRecords() throws Exception {
+        mockMvc.perform(post("/hits")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(makeRecords(2500)))
+                .andExpect(status().isCreated());
+
+        assertEquals(2500, countHits());
+    }
+
+    @Test
+    void saveStatisticInformationStreamSavesNothingWhenRecordIsMalformed() throws Exception {
+        mockMvc.perform(post("/hits")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(makeRecords(1500) + "{\"app\":\"ewm\",\"uri\":\n"))
+                .andExpect(status().isBadRequest());
+
+        assertEquals(0, countHits());
+    }
+
+    @Test
+    void getStatisticInformationByEndpointsListAcceptsUrisBeyondQueryStringLimit() throws Exception {
+        mockMvc.perform(post("/hits")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(makeRecords(100)))
+                .andExpect(status().isCreated());
+
+        StringBuilder uris = new StringBuilder("[");
+        for (int i = 0; i < 1000; i++) {
+            uris.append(i == 0 ? "" : ",").append("\"/events/").append(i).append("\"");
+        }
+        uris.append("]");
+
+        mockMvc.perform(post("/stats/endpoints?exact=true")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(uris.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(10))
+                .andExpect(jsonPath("$[*].hits", everyItem(is(10))));
+    }
+
+    private String makeRecords(int count) {
+        String timestamp = LocalDateTime.now().format(StatisticMapper.formatter);
+        StringBuilder records = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            records.append("{\"app\":\"ewm\",\"uri\":\"/events/").append(i % 10)
+                    .append("\",\"ip\":\"10.0.0.").append(i % 250)
+                    .append("\",\"timestamp\":\"").append(timestamp).append("\"}\n");
+        }
+        return records.toString();
+    }
+
+    private int countHits() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM endpointhits", Integer.class);
+    }
+}
@@ -0,0 +1,85 @@
+package ru.practicum.dao;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.dto.StatisticAnswerDto;
+import ru.practicum.model.EndpointHit;
+import ru.practicum.service.HitRollupCompactor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class JDBCHitSketchRepositoryTest {
+    private static final double MAX_RELATIVE_ERROR = 0.049;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EndpointHitRepository hitRepository;
+    @Autowired
+    private HitSketchRepository sketchRepository;
+    @Autowired
+    private HitRollupCompactor compactor;
+
+    @BeforeEach
+    void clearHits() {
+        jdbcTemplate.update("DELETE FROM endpointhits");
+        jdbcTemplate.update("DELETE FROM hit_rollups");
+        jdbcTemplate.update("DELETE FROM hit_sketches");
+        jdbcTemplate.update("DELETE FROM hit_rollup_watermarks");
+    }
+
+    @Test
+    void compactedSketchesEstimateUniqueIpsWithinErrorBound() {
+        LocalDateTime start = LocalDateTime.now().minusDays(3).withHour(0).withMinute(0).withSecond(0).withNano(0);
+        List<EndpointHit> hits = new ArrayList<>();
+        for (int i = 0; i < 30_000; i++) {
+            // every ip visits twice, in different hours and days, so sketches are merged across buckets
+            hits.add(makeHit("/events/1", i, start.plusMinutes(i % 2_880)));
+            hits.add(makeHit("/events/1", i, start.plusMinutes((i + 1_500) % 2_880)));
+        }
+        for (int i = 0; i < 200; i++) {
+            hits.add(makeHit("/events/2", i, start.plusMinutes(i * 7)));
+        }
+        hitRepository.saveAllStatisticInfo(hits);
+
+        // compaction advances at most one span per run
+        for (int i = 0; i < 5; i++) {
+            compactor.compact();
+        }
+
+        LocalDateTime end = LocalDateTime.now();
+        Map<String, Integer> exact = hitRepository.getUniqueIpStatistic(List.of("/events/1", "/events/2"), start.minusSeconds(1), end)
+                .stream()
+                .collect(Collectors.toMap(StatisticAnswerDto::getUri, StatisticAnswerDto::getHits));
+        Map<String, Integer> estimated = sketchRepository.getUniqueIpStatistic(List.of("/events/1", "/events/2"), start.minusSeconds(1), end)
+                .stream()
+                .collect(Collectors.toMap(StatisticAnswerDto::getUri, StatisticAnswerDto::getHits));
+        assertTrue(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM hit_sketches WHERE granularity = 'DAY'", Integer.class) > 0);
+
+        assertEquals(30_000, exact.get("/events/1"));
+        double relativeError = Math.abs(estimated.get("/events/1") - 30_000) / 30_000.0;
+        assertTrue(relativeError < MAX_RELATIVE_ERROR, "Sketch error " + relativeError);
+        assertEquals(200, exact.get("/events/2"));
+        assertEquals(200, estimated.get("/events/2"));
+    }
+
+    private EndpointHit makeHit(String uri, int ip, LocalDateTime time) {
+        return EndpointHit.builder()
+                .app("ewm")
+                .uri(uri)
+                .ip("10." + (ip / 65_536) + "." + (ip / 256 % 256) + "." + (ip % 256))
+                .hitTime(time)
+                .build();
+    }
+}
@@ -0,0 +1,90 @@
+package ru.practicum.dao;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.dto.StatisticAnswerDto;
+import ru.practicum.model.EndpointHit;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+class UriFilterTest {
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EndpointHitRepository hitRepository;
+
+    private LocalDateTime start;
+    private LocalDateTime end;
+
+    @BeforeEach
+    void createHits() {
+        jdbcTemplate.update("DELETE FROM endpointhits");
+        start = LocalDateTime.now().minusHours(1);
+        end = LocalDateTime.now().plusMinutes(1);
+        List<EndpointHit> hits = new ArrayList<>();
+        addHits(hits, "/events/1", 1);
+        addHits(hits, "/events/10", 2);
+        addHits(hits, "/events_1", 3);
+        addHits(hits, "/eventsX1", 4);
+        addHits(hits, "/a%b", 5);
+        addHits(hits, "/aXYb", 6);
+        addHits(hits, "/back\\slash", 7);
+        addHits(hits, "/backslash", 8);
+        hitRepository.saveAllStatisticInfo(hits);
+    }
+
+    @Test
+    void underscoreAndPercentMatchLiterally() {
+        assertEquals(Map.of("/events_1", 3), getHits(List.of("/events_1")));
+        assertEquals(Map.of("/a%b", 5), getHits(List.of("/a%b")));
+    }
+
+    @Test
+    void trailingAsteriskMatchesPrefix() {
+        assertEquals(Map.of("/events/1", 1, "/events/10", 2), getHits(List.of("/events/*")));
+    }
+
+    @Test
+    void prefixIsEscaped() {
+        assertEquals(Map.of("/events_1", 3), getHits(List.of("/events_*")));
+        assertEquals(Map.of("/a%b", 5), getHits(List.of("/a%*")));
+        assertEquals(Map.of("/back\\slash", 7), getHits(List.of("/back\\*")));
+    }
+
+    @Test
+    void exactUrisAndPrefixesAreCombined() {
+        assertEquals(Map.of("/events/1", 1, "/events/10", 2, "/aXYb", 6), getHits(List.of("/aXYb", "/events/*")));
+    }
+
+    @Test
+    void singleEndpointMatchesExactly() {
+        assertEquals("/events_1", hitRepository.getStatisticByEndpoint("/events_1").orElseThrow().getUri());
+        assertEquals(1, hitRepository.getStatisticByEndpoints(List.of("/events_1")).size());
+    }
+
+    private Map<String, Integer> getHits(List<String> uris) {
+        return hitRepository.getStatistic(uris, start, end).stream()
+                .collect(Collectors.toMap(StatisticAnswerDto::getUri, StatisticAnswerDto::getHits));
+    }
+
+    private void addHits(List<EndpointHit> hits, String uri, int count) {
+        for (int i = 0; i < count; i++) {
+            hits.add(EndpointHit.builder()
+                    .app("ewm")
+                    .uri(uri)
+                    .ip("10.0.0." + i)
+                    .hitTime(LocalDateTime.now().minusMinutes(1))
+                    .build());
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package ru.practicum.dao;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.dto.StatisticAnswerDto;
+import ru.practicum.model.EndpointHit;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Tag("benchmark")
+@SpringBootTest
+class UriStatisticQueryBenchmarkTest {
+    private static final int URIS = 500;
+    private static final int HITS_PER_URI = 200;
+    private static final int[] REQUESTED_URIS = {1, 10, 200};
+    private static final int WARMUP_RUNS = 10;
+    private static final int MEASURED_RUNS = 30;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EndpointHitRepository hitRepository;
+
+    private LocalDateTime start;
+    private LocalDateTime end;
+
+    @BeforeEach
+    void createHits() {
+        jdbcTemplate.update("DELETE FROM endpointhits");
+        start = LocalDateTime.now().minusDays(1);
+        end = LocalDateTime.now().plusMinutes(1);
+        List<EndpointHit> hits = new ArrayList<>();
+        for (int i = 0; i < URIS * HITS_PER_URI; i++) {
+            hits.add(EndpointHit.builder()
+                    .app("ewm")
+                    .uri("/events/" + i % URIS)
+                    .ip("10.0." + i / 250 % 250 + "." + i % 250)
+                    .hitTime(start.plusSeconds(i % 80_000))
+                    .build());
+        }
+        hitRepository.saveAllStatisticInfo(hits);
+    }
+
+    @Test
+    void singleStatementReplacesPerUriQueries() {
+        StringBuilder report = new StringBuilder(String.format("GET /stats?exact=true over %,d hits:", URIS * HITS_PER_URI));
+        for (int requestedUris : REQUESTED_URIS) {
+            List<String> uris = new ArrayList<>();
+            for (int i = 0; i < requestedUris; i++) {
+                uris.add("/events/" + i * (URIS / requestedUris));
+            }
+            assertEquals(sortByUri(getStatisticPerUri(uris)), sortByUri(hitRepository.getStatistic(uris, start, end)));
+
+            long perUriStatements = countStatements(() -> getStatisticPerUri(uris));
+            long singleStatements = countStatements(() -> hitRepository.getStatistic(uris, start, end));
+            long perUriMedian = measureMedian(() -> getStatisticPerUri(uris));
+            long singleMedian = measureMedian(() -> hitRepository.getStatistic(uris, start, end));
+            report.append(String.format("%n  %3d uris: per-uri loop %d statements %d us, single statement %d statements %d us",
+                    requestedUris, perUriStatements, perUriMedian / 1_000, singleStatements, singleMedian / 1_000));
+
+            assertEquals(requestedUris, perUriStatements);
+            assertEquals(1, singleStatements);
+            if (requestedUris > 1) {
+                assertTrue(singleMedian < perUriMedian, requestedUris + " uris took " + singleMedian / 1_000
+                        + " us in one statement and " + perUriMedian / 1_000 + " us in a loop");
+            }
+        }
+        System.out.println(report);
+    }
+
+    // the query and merge getStatistic ran before it was reduced to one statement
+    private List<StatisticAnswerDto> getStatisticPerUri(List<String> uris) {
+        final String sqlQuery = "SELECT app, uri, COUNT(ip) AS hits " +
+                "FROM endpointhits " +
+                "WHERE uri LIKE ? AND timestamp > ? AND timestamp < ? " +
+                "GROUP BY uri, app " +
+                "ORDER BY COUNT(ip) DESC";
+        List<StatisticAnswerDto> answers = new ArrayList<>();
+        for (String uri : uris) {
+            answers.addAll(jdbcTemplate.query(sqlQuery, (rs, rowNum) -> StatisticAnswerDto.builder()
+                            .app(rs.getString("app"))
+                            .uri(rs.getString("uri"))
+                            .hits(rs.getInt("hits"))
+                            .build(),
+                    uri, Timestamp.valueOf(start), Timestamp.valueOf(end)));
+        }
+        return answers.stream()
+                .sorted(Comparator.comparingInt(StatisticAnswerDto::getHits).reversed())
+                .collect(Collectors.toList());
+    }
+
+    private List<StatisticAnswerDto> sortByUri(List<StatisticAnswerDto> answers) {
+        return answers.stream()
+                .sorted(Comparator.comparing(StatisticAnswerDto::getUri))
+                .collect(Collectors.toList());
+    }
+
+    private long countStatements(Supplier<List<StatisticAnswerDto>> query) {
+        jdbcTemplate.execute("SET QUERY_STATISTICS FALSE");
+        jdbcTemplate.execute("SET QUERY_STATISTICS TRUE");
+        query.get();
+        Long executions = jdbcTemplate.queryForObject("SELECT SUM(EXECUTION_COUNT) " +
+                "FROM INFORMATION_SCHEMA.QUERY_STATISTICS " +
+                "WHERE UPPER(SQL_STATEMENT) LIKE '%FROM ENDPOINTHITS%'", Long.class);
+        jdbcTemplate.execute("SET QUERY_STATISTICS FALSE");
+        return executions == null ? 0 : executions;
+    }
+
+    private long measureMedian(Supplier<List<StatisticAnswerDto>> query) {
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            query.get();
+        }
+        long[] latencies = new long[MEASURED_RUNS];
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            long runStart = System.nanoTime();
+            query.get();
+            latencies[i] = System.nanoTime() - runStart;
+        }
+        Arrays.sort(latencies);
+        return latencies[MEASURED_RUNS / 2];
+    }
+}
@@ -0,0 +1,88 @@
+package ru.practicum.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HyperLogLogTest {
+    // three standard errors of a 2^12 register sketch: 3 * 1.04 / sqrt(4096)
+    private static final double MAX_RELATIVE_ERROR = 0.049;
+
+    @Test
+    void estimateIsExactWhileSparse() {
+        HyperLogLog sketch = new HyperLogLog();
+        assertEquals(0, sketch.estimate());
+        for (int i = 0; i < 256; i++) {
+            sketch.add(ip(i));
+            sketch.add(ip(i));
+            assertEquals(i + 1, sketch.estimate());
+        }
+    }
+
+    @Test
+    void estimateStaysWithinErrorBound() {
+        for (int cardinality : new int[]{257, 1_000, 10_000, 100_000, 1_000_000}) {
+            HyperLogLog sketch = new HyperLogLog();
+            for (int i = 0; i < cardinality; i++) {
+                sketch.add(ip(i));
+            }
+            double relativeError = Math.abs(sketch.estimate() - cardinality) / (double) cardinality;
+            assertTrue(relativeError < MAX_RELATIVE_ERROR,
+                    "Estimate " + sketch.estimate() + " for " + cardinality + " values has error " + relativeError);
+        }
+    }
+
+    @Test
+    void mergeOfSparseSketchesIsExactUnion() {
+        HyperLogLog first = makeSketch(0, 100);
+        first.merge(makeSketch(50, 150));
+        assertEquals(150, first.estimate());
+    }
+
+    @Test
+    void mergeAcrossSparseAndDenseEqualsSketchOfUnion() {
+        HyperLogLog union = makeSketch(0, 5_100);
+
+        HyperLogLog sparseIntoDense = makeSketch(100, 5_100);
+        sparseIntoDense.merge(makeSketch(0, 200));
+        assertArrayEquals(union.toBytes(), sparseIntoDense.toBytes());
+
+        HyperLogLog denseIntoSparse = makeSketch(0, 200);
+        denseIntoSparse.merge(makeSketch(100, 5_100));
+        assertArrayEquals(union.toBytes(), denseIntoSparse.toBytes());
+
+        HyperLogLog sparseGrowingDense = makeSketch(0, 200);
+        sparseGrowingDense.merge(makeSketch(200, 400));
+        assertArrayEquals(makeSketch(0, 400).toBytes(), sparseGrowingDense.toBytes());
+    }
+
+    @Test
+    void sketchSurvivesBytesRoundTrip() {
+        HyperLogLog sparse = makeSketch(0, 200);
+        HyperLogLog restoredSparse = HyperLogLog.fromBytes(sparse.toBytes());
+        assertEquals(200, restoredSparse.estimate());
+        restoredSparse.add(ip(0));
+        assertEquals(200, restoredSparse.estimate());
+        restoredSparse.add(ip(200));
+        assertEquals(201, restoredSparse.estimate());
+
+        HyperLogLog dense = makeSketch(0, 20_000);
+        HyperLogLog restoredDense = HyperLogLog.fromBytes(dense.toBytes());
+        assertEquals(dense.estimate(), restoredDense.estimate());
+        assertArrayEquals(dense.toBytes(), restoredDense.toBytes());
+    }
+
+    private HyperLogLog makeSketch(int from, int to) {
+        HyperLogLog sketch = new HyperLogLog();
+        for (int i = from; i < to; i++) {
+            sketch.add(ip(i));
+        }
+        return sketch;
+    }
+
+    private String ip(int i) {
+        return (10 + i / 16_777_216) + "." + (i / 65_536 % 256) + "." + (i / 256 % 256) + "." + (i % 256);
+    }
+}
@@ -0,0 +1,95 @@
+package ru.practicum.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.mapper.StatisticMapper;
+import ru.practicum.model.RollupGranularity;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "statistic_server.partitions.retention-months=1")
+@AutoConfigureMockMvc
+class HitRetentionTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private HitRollupCompactor compactor;
+    @Autowired
+    private HitRetentionPolicy retentionPolicy;
+
+    @BeforeEach
+    void clearHits() {
+        jdbcTemplate.update("DELETE FROM endpointhits");
+        jdbcTemplate.update("DELETE FROM hit_rollups");
+        jdbcTemplate.update("DELETE FROM hit_sketches");
+        jdbcTemplate.update("DELETE FROM hit_rollup_watermarks");
+    }
+
+    @Test
+    void hitOlderThanRetentionIsRejected() throws Exception {
+        mockMvc.perform(post("/hit")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(makeRecord(getHorizon().minusDays(1))))
+                .andExpect(status().isBadRequest());
+
+        assertEquals(0, countHits());
+    }
+
+    @Test
+    void hitsOlderThanRetentionAreSkippedInBatch() throws Exception {
+        mockMvc.perform(post("/hits")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + makeRecord(getHorizon().minusDays(1)) + "," + makeRecord(LocalDateTime.now()) + "]"))
+                .andExpect(status().isCreated());
+
+        assertEquals(1, countHits());
+    }
+
+    @Test
+    void compactionNeverRebuildsBucketsBeforeRetention() {
+        LocalDateTime oldBucket = getHorizon().minusDays(10);
+        jdbcTemplate.update("INSERT INTO hit_rollups (granularity, bucket_start, app, uri, hits) VALUES (?, ?, ?, ?, ?)",
+                RollupGranularity.DAY.name(), Timestamp.valueOf(oldBucket), "ewm", "/events/1", 42);
+        for (RollupGranularity granularity : RollupGranularity.values()) {
+            jdbcTemplate.update("INSERT INTO hit_rollup_watermarks (granularity, compacted_until) VALUES (?, ?)",
+                    granularity.name(), Timestamp.valueOf(getHorizon().minusDays(20)));
+        }
+
+        compactor.compact();
+
+        assertEquals(42, jdbcTemplate.queryForObject("SELECT hits FROM hit_rollups WHERE granularity = ? AND bucket_start = ?",
+                Integer.class, RollupGranularity.DAY.name(), Timestamp.valueOf(oldBucket)));
+        for (RollupGranularity granularity : RollupGranularity.values()) {
+            LocalDateTime watermark = jdbcTemplate.queryForObject("SELECT compacted_until FROM hit_rollup_watermarks WHERE granularity = ?",
+                    Timestamp.class, granularity.name()).toLocalDateTime();
+            assertFalse(watermark.isBefore(getHorizon()));
+        }
+    }
+
+    private LocalDateTime getHorizon() {
+        return retentionPolicy.getHorizon().orElseThrow();
+    }
+
+    private String makeRecord(LocalDateTime time) {
+        return "{\"app\":\"ewm\",\"uri\":\"/events/1\",\"ip\":\"10.0.0.1\",\"timestamp\":\"" +
+                time.format(StatisticMapper.formatter) + "\"}";
+    }
+
+    private int countHits() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM endpointhits", Integer.class);
+    }
+}